@@ -19,20 +19,21 @@
 
 package com.alibaba.apiopenplatform.config;
 
+import com.alibaba.apiopenplatform.core.portal.PortalRoutingTable;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
 import com.alibaba.apiopenplatform.filter.PortalResolvingFilter;
-import com.alibaba.apiopenplatform.service.PortalService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 @Configuration
 @RequiredArgsConstructor
 public class FilterConfig {
 
-    private final PortalService portalService;
+    private final PortalRoutingTable portalRoutingTable;
 
     private final ContextHolder contextHolder;
 
@@ -40,11 +41,22 @@ public class FilterConfig {
     public FilterRegistrationBean<PortalResolvingFilter> portalResolvingFilter() {
         FilterRegistrationBean<PortalResolvingFilter> registrationBean = new FilterRegistrationBean<>();
 
-        PortalResolvingFilter filter = new PortalResolvingFilter(portalService, contextHolder);
+        PortalResolvingFilter filter = new PortalResolvingFilter(portalRoutingTable, contextHolder);
         registrationBean.setFilter(filter);
         registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
         registrationBean.addUrlPatterns("/*");
 
         return registrationBean;
     }
+
+    /**
+     * 门户、订阅等读接口按响应内容计算ETag，产品接口由版本号计算，不在此处理
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ShallowEtagHeaderFilter());
+        registrationBean.addUrlPatterns("/portals/*", "/consumers/*");
+        return registrationBean;
+    }
 }
@@ -19,21 +19,50 @@
 
 package com.alibaba.apiopenplatform.config;
 
+import com.alibaba.apiopenplatform.core.exception.BusinessException;
+import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.repository.CursorPageable;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
 
 @Configuration
 public class PageConfig {
+
+    /**
+     * 携带该参数时使用游标翻页，空值表示第一页
+     */
+    private static final String CURSOR_PARAMETER = "cursor";
+
     @Bean
     public PageableHandlerMethodArgumentResolver pageableResolver() {
-        PageableHandlerMethodArgumentResolver resolver = new PageableHandlerMethodArgumentResolver();
+        PageableHandlerMethodArgumentResolver resolver = new PageableHandlerMethodArgumentResolver() {
+            @Override
+            public Pageable resolveArgument(MethodParameter methodParameter, ModelAndViewContainer mavContainer,
+                                            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+                Pageable pageable = super.resolveArgument(methodParameter, mavContainer, webRequest, binderFactory);
+                String cursor = webRequest.getParameter(CURSOR_PARAMETER);
+                if (cursor == null) {
+                    return pageable;
+                }
+                try {
+                    return CursorPageable.of(cursor, pageable.getPageSize());
+                } catch (IllegalArgumentException e) {
+                    throw new BusinessException(ErrorCode.INVALID_PARAMETER, CURSOR_PARAMETER);
+                }
+            }
+        };
         // 默认分页和排序
         resolver.setFallbackPageable(PageRequest.of(0, 100,
                 Sort.by(Sort.Direction.DESC, "createAt")));
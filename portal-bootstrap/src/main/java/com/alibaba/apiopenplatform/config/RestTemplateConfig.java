@@ -19,32 +19,17 @@
 
 package com.alibaba.apiopenplatform.config;
 
-import lombok.RequiredArgsConstructor;
-import okhttp3.ConnectionPool;
-import okhttp3.OkHttpClient;
+import com.alibaba.apiopenplatform.core.http.HttpTransport;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.concurrent.TimeUnit;
-
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate(OkHttpClient okHttpClient) {
-        // 使用OkHttp作为RestTemplate的底层客户端
-        return new RestTemplate(new OkHttp3ClientHttpRequestFactory(okHttpClient));
-    }
-
-    @Bean
-    public OkHttpClient okHttpClient() {
-        return new OkHttpClient.Builder()
-                .connectTimeout(5, TimeUnit.SECONDS)
-                .readTimeout(5, TimeUnit.SECONDS)
-                .writeTimeout(5, TimeUnit.SECONDS)
-                .connectionPool(new ConnectionPool(10, 5, TimeUnit.MINUTES))
-                .build();
+    public RestTemplate restTemplate(HttpTransport httpTransport) {
+        // 共享RestTemplate用于访问OIDC身份提供方，连接池与超时见 http.upstream.idp.*
+        return httpTransport.restTemplate("idp");
     }
-}
\ No newline at end of file
+}
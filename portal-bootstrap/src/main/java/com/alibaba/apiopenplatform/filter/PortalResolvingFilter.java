@@ -20,8 +20,8 @@
 package com.alibaba.apiopenplatform.filter;
 
 import cn.hutool.core.util.StrUtil;
+import com.alibaba.apiopenplatform.core.portal.PortalRoutingTable;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
-import com.alibaba.apiopenplatform.service.PortalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -38,7 +38,7 @@ import java.net.URI;
 @RequiredArgsConstructor
 public class PortalResolvingFilter extends OncePerRequestFilter {
 
-    private final PortalService portalService;
+    private final PortalRoutingTable portalRoutingTable;
 
     private final ContextHolder contextHolder;
 
@@ -46,44 +46,19 @@ public class PortalResolvingFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain chain)
             throws ServletException, IOException {
         try {
-            String origin = request.getHeader("Origin");
-            String host = request.getHeader("Host");
-            String xForwardedHost = request.getHeader("X-Forwarded-Host");
-            String xRealIp = request.getHeader("X-Real-IP");
-            String xForwardedFor = request.getHeader("X-Forwarded-For");
-
-            String domain = null;
-            if (origin != null) {
-                try {
-                    URI uri = new URI(origin);
-                    domain = uri.getHost();
-                } catch (Exception ignored) {
-                }
-            }
-
-            log.info("域名解析调试 - Origin: {}, Host: {}, X-Forwarded-Host: {}, ServerName: {}, X-Real-IP: {}, X-Forwarded-For: {}",
-                    origin, host, xForwardedHost, request.getServerName(), xRealIp, xForwardedFor);
-
-            if (domain == null) {
-                // 优先使用Host头，如果没有则使用ServerName
-                if (host != null && !host.isEmpty()) {
-                    domain = host.split(":")[0]; // 去掉端口号
-                } else {
-                    domain = request.getServerName();
-                }
-            }
-            String portalId = portalService.resolvePortal(domain);
+            String domain = resolveDomain(request);
 
+            // 路由表常驻内存，不访问数据库
+            String portalId = portalRoutingTable.resolve(domain);
             if (StrUtil.isNotBlank(portalId)) {
                 contextHolder.savePortal(portalId);
-                log.info("Resolved portal for domain: {} with portalId: {}", domain, portalId);
+                log.debug("Resolved portal for domain: {} with portalId: {}", domain, portalId);
             } else {
-                log.info("No portal found for domain: {}", domain);
-                String defaultPortalId = portalService.getDefaultPortal();
+                String defaultPortalId = portalRoutingTable.getDefaultPortal();
                 if (StrUtil.isNotBlank(defaultPortalId)) {
                     contextHolder.savePortal(defaultPortalId);
-                    log.info("Use default portal: {}", defaultPortalId);
                 }
+                log.debug("No portal found for domain: {}, use default portal: {}", domain, defaultPortalId);
             }
 
             chain.doFilter(request, response);
@@ -91,4 +66,26 @@ public class PortalResolvingFilter extends OncePerRequestFilter {
             contextHolder.clearPortal();
         }
     }
+
+    private String resolveDomain(HttpServletRequest request) {
+        String origin = request.getHeader("Origin");
+        if (origin != null) {
+            try {
+                String host = new URI(origin).getHost();
+                if (host != null) {
+                    return host;
+                }
+            } catch (Exception ignored) {
+            }
+        }
+
+        // 优先使用Host头，如果没有则使用ServerName
+        String host = request.getHeader("Host");
+        if (host != null && !host.isEmpty()) {
+            // 去掉端口号
+            int idx = host.indexOf(':');
+            return idx < 0 ? host : host.substring(0, idx);
+        }
+        return request.getServerName();
+    }
 }
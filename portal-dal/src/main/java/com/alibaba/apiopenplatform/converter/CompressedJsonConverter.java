@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.converter;
+
+import com.alibaba.apiopenplatform.support.common.TextCompressor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.persistence.AttributeConverter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 压缩JSON中指定的大文本字段
+ * <p>
+ * 只压缩顶层字符串字段的值，列内容仍是合法JSON，数据库侧的JSON函数（如JSON_REMOVE）照常可用。
+ */
+@Slf4j
+public abstract class CompressedJsonConverter implements AttributeConverter<String, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<String> fields;
+
+    protected CompressedJsonConverter(String... fields) {
+        this.fields = Arrays.asList(fields);
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return transform(attribute, TextCompressor::compress);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return transform(dbData, TextCompressor::decompress);
+    }
+
+    private String transform(String json, UnaryOperator<String> operator) {
+        if (json == null || json.isEmpty()) {
+            return json;
+        }
+        try {
+            JsonNode root = MAPPER.readTree(json);
+            if (!(root instanceof ObjectNode)) {
+                return json;
+            }
+            ObjectNode node = (ObjectNode) root;
+            boolean changed = false;
+            for (String field : fields) {
+                JsonNode value = node.get(field);
+                if (value == null || !value.isTextual()) {
+                    continue;
+                }
+                String text = value.asText();
+                String transformed = operator.apply(text);
+                if (!transformed.equals(text)) {
+                    node.put(field, transformed);
+                    changed = true;
+                }
+            }
+            return changed ? MAPPER.writeValueAsString(node) : json;
+        } catch (JsonProcessingException e) {
+            log.warn("Skip compressing invalid JSON: {}", e.getMessage());
+            return json;
+        }
+    }
+}
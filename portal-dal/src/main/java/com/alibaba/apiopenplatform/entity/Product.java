@@ -19,12 +19,14 @@
 
 package com.alibaba.apiopenplatform.entity;
 
+import com.alibaba.apiopenplatform.converter.CompressedTextConverter;
 import com.alibaba.apiopenplatform.converter.ProductIconConverter;
 import com.alibaba.apiopenplatform.support.enums.ProductStatus;
 import com.alibaba.apiopenplatform.support.enums.ProductType;
 import com.alibaba.apiopenplatform.support.product.ProductIcon;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
@@ -36,6 +38,7 @@ import javax.persistence.*;
                 @UniqueConstraint(columnNames = {"name"}, name = "uk_name")
         })
 @Data
+@DynamicUpdate
 public class Product extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -61,6 +64,7 @@ public class Product extends BaseEntity {
     private Boolean enableConsumerAuth;
 
     @Column(name = "document", columnDefinition = "longtext")
+    @Convert(converter = CompressedTextConverter.class)
     private String document;
 
     @Column(name = "icon", columnDefinition = "json")
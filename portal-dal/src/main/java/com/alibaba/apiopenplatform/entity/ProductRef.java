@@ -19,6 +19,8 @@
 
 package com.alibaba.apiopenplatform.entity;
 
+import com.alibaba.apiopenplatform.converter.APIConfigConverter;
+import com.alibaba.apiopenplatform.converter.MCPConfigConverter;
 import com.alibaba.apiopenplatform.converter.APIGRefConfigConverter;
 import com.alibaba.apiopenplatform.converter.HigressRefConfigConverter;
 import com.alibaba.apiopenplatform.converter.NacosRefConfigConverter;
@@ -28,12 +30,14 @@ import com.alibaba.apiopenplatform.support.product.HigressRefConfig;
 import com.alibaba.apiopenplatform.support.product.NacosRefConfig;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "product_ref")
+@DynamicUpdate
 @Data
 public class ProductRef extends BaseEntity {
 
@@ -71,11 +75,19 @@ public class ProductRef extends BaseEntity {
     private SourceType sourceType;
 
     @Column(name = "api_config", columnDefinition = "json")
+    @Convert(converter = APIConfigConverter.class)
     private String apiConfig;
 
     @Column(name = "mcp_config", columnDefinition = "json")
+    @Convert(converter = MCPConfigConverter.class)
     private String mcpConfig;
 
     @Column(name = "enabled")
     private Boolean enabled;
+
+    /**
+     * 上游API/MCP配置的摘要，用于后台同步时判断内容是否变化
+     */
+    @Column(name = "config_hash", length = 64)
+    private String configHash;
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.entity;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 已撤销Token，集群内各节点共享
+ */
+@Entity
+@Table(name = "revoked_token",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"token_id"}, name = "uk_token_id")
+        },
+        indexes = {
+                @Index(columnList = "expire_at", name = "idx_expire_at"),
+                @Index(columnList = "created_at", name = "idx_created_at")
+        }
+)
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class RevokedToken extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Token摘要
+     */
+    @Column(name = "token_id", length = 64, nullable = false)
+    private String tokenId;
+
+    @Column(name = "expire_at", nullable = false, columnDefinition = "datetime(3)")
+    private LocalDateTime expireAt;
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.apiopenplatform.entity;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 定时任务租约，集群内同一任务同时只由持有租约的节点执行
+ */
+@Entity
+@Table(name = "scheduler_lease",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"name"}, name = "uk_name")
+        }
+)
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class SchedulerLease extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 任务名称
+     */
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    /**
+     * 持有租约的节点
+     */
+    @Column(name = "owner", length = 128, nullable = false)
+    private String owner;
+
+    @Column(name = "expire_at", nullable = false, columnDefinition = "datetime(3)")
+    private LocalDateTime expireAt;
+}
@@ -27,7 +27,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ConsumerRepository extends BaseRepository<Consumer, Long> {
+public interface ConsumerRepository extends BaseRepository<Consumer, Long>, ConsumerRepositoryCustom {
 
     Optional<Consumer> findByConsumerId(String consumerId);
 
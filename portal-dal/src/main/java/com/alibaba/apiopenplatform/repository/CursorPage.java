@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.repository;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 游标分页结果，不统计总数
+ */
+public class CursorPage<T> extends PageImpl<T> {
+
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    @Getter
+    private final String nextCursor;
+
+    private final Pageable nextPageable;
+
+    public CursorPage(List<T> content, CursorPageable pageable, CursorPageable nextPageable) {
+        super(content, pageable, content.size());
+        this.nextPageable = nextPageable == null ? Pageable.unpaged() : nextPageable;
+        this.nextCursor = nextPageable == null ? null
+                : CursorPageable.encode(nextPageable.getCreateAt(), nextPageable.getId());
+    }
+
+    /**
+     * 游标模式不统计总数
+     */
+    @Override
+    public long getTotalElements() {
+        return -1;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext();
+    }
+
+    /**
+     * 携带游标的下一页参数，没有更多数据时为非分页实例
+     */
+    @Override
+    public Pageable nextPageable() {
+        return nextPageable;
+    }
+}
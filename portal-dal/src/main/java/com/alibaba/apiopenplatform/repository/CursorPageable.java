@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.repository;
+
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游标分页参数
+ * <p>
+ * 按(createAt, id)倒序翻页，游标为上一页最后一条记录的(createAt, id)，翻页耗时与页深无关，且不统计总数。
+ */
+@Getter
+public class CursorPageable implements Pageable {
+
+    public static final Sort SORT = Sort.by(Sort.Order.desc("createAt"), Sort.Order.desc("id"));
+
+    /**
+     * 为空表示第一页
+     */
+    private final LocalDateTime createAt;
+
+    private final Long id;
+
+    private final int size;
+
+    private CursorPageable(LocalDateTime createAt, Long id, int size) {
+        this.createAt = createAt;
+        this.id = id;
+        this.size = size;
+    }
+
+    /**
+     * 从指定记录之后开始的下一页
+     */
+    public static CursorPageable after(LocalDateTime createAt, Long id, int size) {
+        return new CursorPageable(createAt, id, size);
+    }
+
+    /**
+     * 解析游标，空字符串表示第一页
+     *
+     * @param cursor
+     * @param size
+     * @return
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static CursorPageable of(String cursor, int size) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new CursorPageable(null, null, size);
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = decoded.lastIndexOf(',');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new CursorPageable(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)), size);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static String encode(LocalDateTime createAt, Long id) {
+        String raw = createAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return createAt == null;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return 0;
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return 0;
+    }
+
+    @Override
+    public Sort getSort() {
+        return SORT;
+    }
+
+    /**
+     * 游标只能由查询结果确定，下一页参数见{@link CursorPage#nextPageable()}，此处返回非分页实例
+     */
+    @Override
+    public Pageable next() {
+        return Pageable.unpaged();
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new CursorPageable(null, null, size);
+    }
+
+    /**
+     * 只能定位到第一页，其他页码返回非分页实例
+     */
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return pageNumber == 0 ? first() : Pageable.unpaged();
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return !isFirst();
+    }
+
+    @Override
+    public String toString() {
+        return "Cursor request [createAt: " + createAt + ", id: " + id + ", size: " + size + "]";
+    }
+}
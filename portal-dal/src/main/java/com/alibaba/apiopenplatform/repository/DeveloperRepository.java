@@ -27,7 +27,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
 import java.util.List;
 
-public interface DeveloperRepository extends BaseRepository<Developer, Long> {
+public interface DeveloperRepository extends BaseRepository<Developer, Long>, DeveloperRepositoryCustom {
 
     Optional<Developer> findByDeveloperId(String developerId);
 
@@ -22,7 +22,11 @@ package com.alibaba.apiopenplatform.repository;
 import com.alibaba.apiopenplatform.entity.ProductPublication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductPublicationRepository extends BaseRepository<ProductPublication, Long> {
@@ -38,4 +42,16 @@ public interface ProductPublicationRepository extends BaseRepository<ProductPubl
     void deleteAllByPortalId(String portalId);
 
     boolean existsByProductId(String productId);
+
+    /**
+     * 批量查询已发布的产品ID
+     */
+    @Query("SELECT DISTINCT p.productId FROM ProductPublication p WHERE p.productId IN :productIds")
+    List<String> findPublishedProductIds(@Param("productIds") Collection<String> productIds);
+
+    @Query("SELECT p.productId FROM ProductPublication p WHERE p.portalId = :portalId")
+    List<String> findProductIdsByPortalId(@Param("portalId") String portalId);
+
+    @Query("SELECT p.portalId FROM ProductPublication p WHERE p.productId = :productId")
+    List<String> findPortalIdsByProductId(@Param("productId") String productId);
 }
@@ -21,10 +21,15 @@ package com.alibaba.apiopenplatform.repository;
 
 import com.alibaba.apiopenplatform.entity.ProductRef;
 import com.alibaba.apiopenplatform.support.enums.SourceType;
+import com.alibaba.apiopenplatform.support.product.NacosRefConfig;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,11 +37,95 @@ import java.util.Optional;
  * API Reference Repository
  */
 @Repository
-public interface ProductRefRepository extends JpaRepository<ProductRef, Long>, JpaSpecificationExecutor<ProductRef> {
+public interface ProductRefRepository extends JpaRepository<ProductRef, Long>, JpaSpecificationExecutor<ProductRef>, ProductRefRepositoryCustom {
 
     Optional<ProductRef> findByProductId(String productId);
 
     Optional<ProductRef> findFirstByProductId(String productId);
 
+    /**
+     * 列表场景批量查询，在数据库侧去除API定义与MCP工具，只返回摘要
+     */
+    @Query(value = "SELECT id, product_id AS productId, enabled, " +
+            "JSON_REMOVE(api_config, '$.spec') AS apiConfig, " +
+            "JSON_REMOVE(mcp_config, '$.tools') AS mcpConfig " +
+            "FROM product_ref WHERE product_id IN (:productIds)", nativeQuery = true)
+    List<ProductRefSummary> findSummariesByProductIdIn(@Param("productIds") Collection<String> productIds);
+
+    /**
+     * 只读取API定义字段，结果可能为压缩内容
+     */
+    @Query(value = "SELECT JSON_UNQUOTE(JSON_EXTRACT(api_config, '$.spec')) FROM product_ref " +
+            "WHERE product_id = :productId ORDER BY id ASC LIMIT 1", nativeQuery = true)
+    String findSpecByProductId(@Param("productId") String productId);
+
+    /**
+     * 只读取MCP工具字段，结果可能为压缩内容
+     */
+    @Query(value = "SELECT JSON_UNQUOTE(JSON_EXTRACT(mcp_config, '$.tools')) FROM product_ref " +
+            "WHERE product_id = :productId ORDER BY id ASC LIMIT 1", nativeQuery = true)
+    String findToolsByProductId(@Param("productId") String productId);
+
+    /**
+     * 批量读取MCP工具字段，结果可能为压缩内容
+     */
+    @Query(value = "SELECT product_id AS productId, JSON_UNQUOTE(JSON_EXTRACT(mcp_config, '$.tools')) AS tools " +
+            "FROM product_ref WHERE product_id IN (:productIds) ORDER BY id ASC", nativeQuery = true)
+    List<ProductTools> findToolsByProductIdIn(@Param("productIds") Collection<String> productIds);
+
+    /**
+     * 按主键顺序分批遍历关联，只返回同步调度所需字段
+     */
+    @Query("SELECT r.id AS id, r.productId AS productId, r.gatewayId AS gatewayId, r.nacosId AS nacosId " +
+            "FROM ProductRef r WHERE r.id > :lastId ORDER BY r.id ASC")
+    List<ProductRefSyncKey> findSyncKeysAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * 查询指定来源的全部关联，用于监听Nacos MCP Server变化
+     */
+    @Query("SELECT r.productId AS productId, r.nacosId AS nacosId, r.nacosRefConfig AS nacosRefConfig " +
+            "FROM ProductRef r WHERE r.sourceType = :sourceType")
+    List<NacosRefKey> findNacosRefsBySourceType(@Param("sourceType") SourceType sourceType);
+
+    interface NacosRefKey {
+
+        String getProductId();
+
+        String getNacosId();
+
+        NacosRefConfig getNacosRefConfig();
+    }
+
+    interface ProductTools {
+
+        String getProductId();
+
+        String getTools();
+    }
+
+    interface ProductRefSyncKey {
+
+        Long getId();
+
+        String getProductId();
+
+        String getGatewayId();
+
+        String getNacosId();
+    }
+
+    interface ProductRefSummary {
+
+        Long getId();
+
+        String getProductId();
+
+        Boolean getEnabled();
+
+        String getApiConfig();
+
+        String getMcpConfig();
+    }
+
     boolean existsByGatewayId(String gatewayId);
 }
@@ -22,18 +22,31 @@ package com.alibaba.apiopenplatform.repository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import com.alibaba.apiopenplatform.entity.Product;
+import com.alibaba.apiopenplatform.support.enums.ProductType;
 
 @Repository
-public interface ProductRepository extends BaseRepository<Product, Long> {
+public interface ProductRepository extends BaseRepository<Product, Long>, ProductRepositoryCustom {
 
     Optional<Product> findByProductId(String productId);
 
+    @Query("SELECT p.type FROM Product p WHERE p.productId = :productId")
+    Optional<ProductType> findTypeByProductId(@Param("productId") String productId);
+
+    /**
+     * 查询产品及其关联的更新时间，用于计算ETag
+     */
+    @Query("SELECT p.updatedAt, r.updatedAt FROM Product p LEFT JOIN ProductRef r ON r.productId = p.productId " +
+            "WHERE p.productId = :productId ORDER BY r.id ASC")
+    List<Object[]> findVersionsByProductId(@Param("productId") String productId);
+
     Optional<Product> findByProductIdAndAdminId(String productId, String adminId);
 
     Optional<Product> findByNameAndAdminId(String name, String adminId);
@@ -45,4 +58,32 @@ public interface ProductRepository extends BaseRepository<Product, Long> {
     Page<Product> findByAdminId(String adminId, Pageable pageable);
 
     Page<Product> findByCategory(String category, Pageable pageable);
+
+    /**
+     * 按主键顺序分批读取检索索引所需字段
+     */
+    @Query("SELECT p.id AS id, p.productId AS productId, p.name AS name, p.category AS category, " +
+            "p.description AS description, p.document AS document " +
+            "FROM Product p WHERE p.id > :lastId ORDER BY p.id ASC")
+    List<ProductSearchFields> findSearchFieldsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.productId AS productId, p.name AS name, p.category AS category, " +
+            "p.description AS description, p.document AS document " +
+            "FROM Product p WHERE p.productId = :productId")
+    Optional<ProductSearchFields> findSearchFieldsByProductId(@Param("productId") String productId);
+
+    interface ProductSearchFields {
+
+        Long getId();
+
+        String getProductId();
+
+        String getName();
+
+        String getCategory();
+
+        String getDescription();
+
+        String getDocument();
+    }
 }
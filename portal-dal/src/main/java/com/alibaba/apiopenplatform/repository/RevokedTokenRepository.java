@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.repository;
+
+import com.alibaba.apiopenplatform.entity.RevokedToken;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RevokedTokenRepository extends BaseRepository<RevokedToken, Long> {
+
+    /**
+     * 增量拉取指定时间之后创建的撤销记录，按ID分页
+     *
+     * @param time
+     * @param id
+     * @return
+     */
+    List<RevokedToken> findTop500ByCreateAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(LocalDateTime time, Long id);
+
+    List<RevokedToken> findAllByExpireAtAfter(LocalDateTime time);
+
+    Optional<RevokedToken> findByTokenIdAndExpireAtAfter(String tokenId, LocalDateTime time);
+
+    /**
+     * 批量删除过期记录，返回删除行数
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expireAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -24,7 +24,7 @@ import com.alibaba.apiopenplatform.entity.ProductSubscription;
 import java.util.List;
 import java.util.Optional;
 
-public interface SubscriptionRepository extends BaseRepository<ProductSubscription, Long> {
+public interface SubscriptionRepository extends BaseRepository<ProductSubscription, Long>, SubscriptionRepositoryCustom {
 
     Optional<ProductSubscription> findByConsumerIdAndProductId(String consumerId, String productId);
 
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.repository;
+
+import com.alibaba.apiopenplatform.entity.ProductSubscription;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+
+public class SubscriptionRepositoryCustomImpl implements SubscriptionRepositoryCustom {
+
+    private final SummaryQuery<ProductSubscription> summaryQuery;
+
+    public SubscriptionRepositoryCustomImpl(EntityManager entityManager) {
+        this.summaryQuery = new SummaryQuery<>(entityManager, ProductSubscription.class,
+                Collections.singleton("consumerAuthConfig"));
+    }
+
+    @Override
+    public Page<ProductSubscription> findSummaries(Specification<ProductSubscription> spec, Pageable pageable) {
+        return summaryQuery.findAll(spec, pageable);
+    }
+}
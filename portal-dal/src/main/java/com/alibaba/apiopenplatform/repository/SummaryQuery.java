@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.repository;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 列表摘要查询
+ * <p>
+ * 只查询实体中除排除字段外的单值属性，结果填充为非托管的实体对象，
+ * 用于列表接口避免加载longtext/JSON等大字段。
+ * 传入{@link CursorPageable}时按(createAt, id)游标翻页，不统计总数。
+ */
+final class SummaryQuery<T> {
+
+    private static final String CREATE_AT = "createAt";
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    private final Class<T> domainClass;
+
+    private final List<String> attributes;
+
+    SummaryQuery(EntityManager entityManager, Class<T> domainClass, Set<String> excludedAttributes) {
+        this.entityManager = entityManager;
+        this.domainClass = domainClass;
+        this.attributes = entityManager.getMetamodel().entity(domainClass).getSingularAttributes().stream()
+                .map(Attribute::getName)
+                .filter(name -> !excludedAttributes.contains(name))
+                .collect(Collectors.toList());
+    }
+
+    Page<T> findAll(Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (pageable instanceof CursorPageable) {
+            return findAfter(query, root, predicate, (CursorPageable) pageable);
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<T> content = typedQuery.getResultList().stream()
+                .map(this::toEntity)
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    /**
+     * 游标翻页：按(createAt, id)倒序定位，多取一条判断是否有下一页，不执行计数查询
+     */
+    private Page<T> findAfter(CriteriaQuery<Tuple> query, Root<T> root, Predicate predicate, CursorPageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<Predicate> predicates = new ArrayList<>();
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (!pageable.isFirst()) {
+            Path<LocalDateTime> createAt = root.get(CREATE_AT);
+            Path<Long> id = root.get(ID);
+            predicates.add(cb.or(
+                    cb.lessThan(createAt, pageable.getCreateAt()),
+                    cb.and(cb.equal(createAt, pageable.getCreateAt()), cb.lessThan(id, pageable.getId()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        // 与CursorPageable.SORT一致，id作为相同createAt的次序
+        query.orderBy(cb.desc(root.get(CREATE_AT)), cb.desc(root.get(ID)));
+
+        int size = pageable.getPageSize();
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        CursorPageable next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Tuple last = rows.get(size - 1);
+            next = CursorPageable.after((LocalDateTime) last.get(CREATE_AT), (Long) last.get(ID), size);
+        }
+        List<T> content = rows.stream()
+                .map(this::toEntity)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, pageable, next);
+    }
+
+    private long count(Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        // 计数查询不需要排序
+        query.orderBy(new ArrayList<>());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private T toEntity(Tuple tuple) {
+        T entity = BeanUtils.instantiateClass(domainClass);
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        for (String attribute : attributes) {
+            wrapper.setPropertyValue(attribute, tuple.get(attribute));
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.support.common;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 大文本压缩
+ * <p>
+ * 压缩结果为"版本头 + Base64(Deflate)"，仍可存入文本/JSON列；
+ * 未压缩的文本若恰好以版本头或转义头开头，写入时加转义头，读取时去除；
+ * 其他不带版本头的内容视为未压缩的历史数据，原样返回。
+ */
+@Slf4j
+public class TextCompressor {
+
+    private static final String HEADER_V1 = "zip:v1:";
+
+    private static final String HEADER_PLAIN = "zip:raw:";
+
+    /**
+     * 小于该长度的文本不压缩
+     */
+    private static final int MIN_LENGTH = 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public static boolean isCompressed(String value) {
+        return value != null && value.startsWith(HEADER_V1);
+    }
+
+    public static String compress(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.length() < MIN_LENGTH) {
+            return escape(value);
+        }
+        byte[] input = value.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            String compressed = HEADER_V1 + Base64.getEncoder().encodeToString(out.toByteArray());
+            // 压缩收益不足时保留原文
+            return compressed.length() < value.length() ? compressed : escape(value);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(String value) {
+        if (value != null && value.startsWith(HEADER_PLAIN)) {
+            return StrUtil.subSuf(value, HEADER_PLAIN.length());
+        }
+        if (!isCompressed(value)) {
+            return value;
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            byte[] input = Base64.getDecoder().decode(StrUtil.subSuf(value, HEADER_V1.length()));
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed data");
+                }
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (DataFormatException | IllegalArgumentException e) {
+            // 加转义头之前写入的、恰好以版本头开头的历史数据
+            log.warn("Decompress failed, treat as plain text: {}", e.getMessage());
+            return value;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 以版本头或转义头开头的未压缩文本加转义头，避免读取时被误判
+     */
+    private static String escape(String value) {
+        return value.startsWith(HEADER_V1) || value.startsWith(HEADER_PLAIN) ? HEADER_PLAIN + value : value;
+    }
+}
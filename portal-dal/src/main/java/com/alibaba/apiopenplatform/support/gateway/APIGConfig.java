@@ -32,8 +32,4 @@ public class APIGConfig {
     private String secretKey;
 
     private String region;
-
-    public String buildUniqueKey() {
-        return String.format("%s:%s:%s", accessKey, secretKey, region);
-    }
 }
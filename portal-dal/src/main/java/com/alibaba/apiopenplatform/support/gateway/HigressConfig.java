@@ -31,8 +31,4 @@ public class HigressConfig {
 
     @Encrypted
     private String password;
-
-    public String buildUniqueKey() {
-        return String.format("%s:%s:%s", address, username, password);
-    }
 }
@@ -46,6 +46,11 @@ public class PortalSettingConfig {
      */
     private Boolean autoApproveSubscriptions = true;
 
+    /**
+     * 开发者密码的BCrypt强度，为空时使用默认值，调整后在开发者下次登录时自动重新哈希
+     */
+    private Integer passwordHashCost;
+
     /**
      * OAuth2配置
      */
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.apiopenplatform.converter;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedConverterTest {
+
+    private static final String TOOLS = StrUtil.repeat("- name: query\n  description: 查询数据\n", 100);
+
+    private final CompressedTextConverter textConverter = new CompressedTextConverter();
+
+    private final MCPConfigConverter mcpConfigConverter = new MCPConfigConverter();
+
+    @Test
+    void textRoundTrip() {
+        for (String value : new String[]{null, "", "# doc", TOOLS, "zip:v1:" + TOOLS, "zip:v1:plain"}) {
+            String stored = textConverter.convertToDatabaseColumn(value);
+
+            assertThat(textConverter.convertToEntityAttribute(stored)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void textLegacyRow() {
+        assertThat(textConverter.convertToEntityAttribute("# legacy doc")).isEqualTo("# legacy doc");
+        assertThat(textConverter.convertToEntityAttribute("zip:v1:legacy")).isEqualTo("zip:v1:legacy");
+    }
+
+    @Test
+    void jsonRoundTrip() {
+        JSONObject config = JSONUtil.createObj().set("serverName", "demo").set("tools", TOOLS);
+        String json = config.toString();
+
+        String stored = mcpConfigConverter.convertToDatabaseColumn(json);
+
+        // 只压缩tools字段，列内容仍是合法JSON
+        JSONObject storedConfig = JSONUtil.parseObj(stored);
+        assertThat(storedConfig.getStr("serverName")).isEqualTo("demo");
+        assertThat(storedConfig.getStr("tools")).startsWith("zip:v1:");
+        assertThat(JSONUtil.parseObj(mcpConfigConverter.convertToEntityAttribute(stored)).getStr("tools"))
+                .isEqualTo(TOOLS);
+    }
+
+    @Test
+    void jsonWithHeaderPrefixedToolsRoundTrips() {
+        String json = JSONUtil.createObj().set("tools", "zip:v1:plain").toString();
+
+        String restored = mcpConfigConverter.convertToEntityAttribute(mcpConfigConverter.convertToDatabaseColumn(json));
+
+        assertThat(JSONUtil.parseObj(restored).getStr("tools")).isEqualTo("zip:v1:plain");
+    }
+
+    @Test
+    void jsonLegacyRow() {
+        String json = JSONUtil.createObj().set("serverName", "demo").set("tools", "tools: []").toString();
+
+        assertThat(mcpConfigConverter.convertToEntityAttribute(json)).isEqualTo(json);
+    }
+}
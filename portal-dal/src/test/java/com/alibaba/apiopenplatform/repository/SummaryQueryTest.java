@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.apiopenplatform.repository;
+
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 游标翻页测试
+ */
+@SuppressWarnings("unchecked")
+class SummaryQueryTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private EntityManager entityManager;
+
+    private CriteriaBuilder cb;
+
+    private CriteriaQuery<Tuple> query;
+
+    private TypedQuery<Tuple> typedQuery;
+
+    private Path<LocalDateTime> createAt;
+
+    private Path<Long> id;
+
+    private SummaryQuery<Item> summaryQuery;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        cb = mock(CriteriaBuilder.class);
+        query = mock(CriteriaQuery.class);
+        typedQuery = mock(TypedQuery.class);
+        createAt = mock(Path.class);
+        id = mock(Path.class);
+        Path<Object> name = mock(Path.class);
+        Root<Item> root = mock(Root.class);
+
+        Metamodel metamodel = mock(Metamodel.class);
+        EntityType<Item> entityType = mock(EntityType.class);
+        Set<SingularAttribute<? super Item, ?>> attributes = new LinkedHashSet<>();
+        for (String attribute : Arrays.asList("id", "createAt", "name")) {
+            SingularAttribute<Item, ?> singular = mock(SingularAttribute.class);
+            when(singular.getName()).thenReturn(attribute);
+            attributes.add(singular);
+        }
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        when(metamodel.entity(Item.class)).thenReturn(entityType);
+        when(entityType.getSingularAttributes()).thenReturn(attributes);
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createTupleQuery()).thenReturn(query);
+        when(query.from(Item.class)).thenReturn(root);
+        doReturn(id).when(root).get("id");
+        doReturn(createAt).when(root).get("createAt");
+        doReturn(name).when(root).get("name");
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+
+        summaryQuery = new SummaryQuery<>(entityManager, Item.class, Collections.emptySet());
+    }
+
+    @Test
+    void firstPageHasNoCursorPredicate() {
+        List<Tuple> rows = rows(2);
+        when(typedQuery.getResultList()).thenReturn(rows);
+
+        Page<Item> page = summaryQuery.findAll(null, CursorPageable.of(null, 2));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextPageable().isUnpaged()).isTrue();
+        verify(cb, never()).or(any(Predicate.class), any(Predicate.class));
+        verify(typedQuery).setMaxResults(3);
+        verify(cb).desc(createAt);
+        verify(cb).desc(id);
+    }
+
+    @Test
+    void sameCreateAtIsBrokenById() {
+        Predicate before = mock(Predicate.class);
+        Predicate sameTime = mock(Predicate.class);
+        Predicate smallerId = mock(Predicate.class);
+        Predicate tie = mock(Predicate.class);
+        when(cb.lessThan(createAt, TIME)).thenReturn(before);
+        when(cb.equal(createAt, TIME)).thenReturn(sameTime);
+        when(cb.lessThan(id, 10L)).thenReturn(smallerId);
+        when(cb.and(sameTime, smallerId)).thenReturn(tie);
+        when(typedQuery.getResultList()).thenReturn(new ArrayList<>());
+
+        summaryQuery.findAll(null, CursorPageable.after(TIME, 10L, 2));
+
+        // createAt < t OR (createAt = t AND id < 10)，同一时刻的记录不会被跳过
+        verify(cb).or(before, tie);
+    }
+
+    @Test
+    void nextCursorPointsAtLastRowOfPage() {
+        // 三条记录createAt相同，多取的第三条只用于判断是否有下一页
+        List<Tuple> rows = rows(3);
+        when(typedQuery.getResultList()).thenReturn(rows);
+
+        Page<Item> page = summaryQuery.findAll(null, CursorPageable.of(null, 2));
+
+        assertThat(page.getContent()).extracting(Item::getId).containsExactly(3L, 2L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(((CursorPage<Item>) page).getNextCursor()).isEqualTo(CursorPageable.encode(TIME, 2L));
+
+        Pageable next = page.nextPageable();
+        assertThat(next).isInstanceOf(CursorPageable.class);
+        assertThat(((CursorPageable) next).getCreateAt()).isEqualTo(TIME);
+        assertThat(((CursorPageable) next).getId()).isEqualTo(2L);
+        assertThat(next.getPageSize()).isEqualTo(2);
+    }
+
+    @Test
+    void cursorRoundTrip() {
+        CursorPageable pageable = CursorPageable.of(CursorPageable.encode(TIME, 7L), 20);
+
+        assertThat(pageable.getCreateAt()).isEqualTo(TIME);
+        assertThat(pageable.getId()).isEqualTo(7L);
+        assertThat(pageable.next().isUnpaged()).isTrue();
+        assertThat(((CursorPageable) pageable.withPage(0)).isFirst()).isTrue();
+        assertThat(pageable.withPage(1).isUnpaged()).isTrue();
+    }
+
+    /**
+     * createAt相同、id倒序的记录
+     */
+    private static List<Tuple> rows(int count) {
+        List<Tuple> rows = new ArrayList<>();
+        for (long i = count; i > 0; i--) {
+            Tuple tuple = mock(Tuple.class);
+            when(tuple.get("id")).thenReturn(i);
+            when(tuple.get("createAt")).thenReturn(TIME);
+            when(tuple.get("name")).thenReturn("item-" + i);
+            rows.add(tuple);
+        }
+        return rows;
+    }
+
+    @Data
+    public static class Item {
+
+        private Long id;
+
+        private LocalDateTime createAt;
+
+        private String name;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.apiopenplatform.support.common;
+
+import cn.hutool.core.util.StrUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextCompressorTest {
+
+    private static final String LARGE_TEXT = StrUtil.repeat("{\"path\":\"/v1/items\",\"method\":\"GET\",\"desc\":\"获取\"},", 200);
+
+    @Test
+    void roundTrip() {
+        String compressed = TextCompressor.compress(LARGE_TEXT);
+
+        assertThat(TextCompressor.isCompressed(compressed)).isTrue();
+        assertThat(compressed.length()).isLessThan(LARGE_TEXT.length());
+        assertThat(TextCompressor.decompress(compressed)).isEqualTo(LARGE_TEXT);
+    }
+
+    @Test
+    void shortTextIsKeptPlain() {
+        assertThat(TextCompressor.compress("hello")).isEqualTo("hello");
+        assertThat(TextCompressor.decompress("hello")).isEqualTo("hello");
+        assertThat(TextCompressor.compress(null)).isNull();
+        assertThat(TextCompressor.decompress(null)).isNull();
+    }
+
+    @Test
+    void plainTextWithHeaderPrefixRoundTrips() {
+        for (String value : new String[]{"zip:v1:not base64!", "zip:v1:", "zip:raw:abc",
+                "zip:v1:" + StrUtil.repeat("x", 2048), TextCompressor.compress(LARGE_TEXT)}) {
+            String stored = TextCompressor.compress(value);
+
+            assertThat(TextCompressor.decompress(stored)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void compressedTextIsNotReusedAsStored() {
+        // 已压缩格式的文本作为普通内容写入时，读取得到的应是原内容而非解压结果
+        String compressed = TextCompressor.compress(LARGE_TEXT);
+
+        assertThat(TextCompressor.decompress(TextCompressor.compress(compressed))).isEqualTo(compressed);
+    }
+
+    @Test
+    void legacyPlainTextIsReturnedAsIs() {
+        assertThat(TextCompressor.decompress("openapi: 3.0.0")).isEqualTo("openapi: 3.0.0");
+        // 加转义头之前写入、恰好以版本头开头的历史数据
+        assertThat(TextCompressor.decompress("zip:v1:not base64!")).isEqualTo("zip:v1:not base64!");
+        assertThat(TextCompressor.decompress("zip:v1:aGVsbG8=")).isEqualTo("zip:v1:aGVsbG8=");
+    }
+}
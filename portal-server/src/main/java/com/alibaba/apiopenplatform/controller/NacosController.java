@@ -83,12 +83,13 @@ public class NacosController {
         nacosService.deleteNacosInstance(nacosId);
     }
 
-    @Operation(summary = "获取Nacos中的MCP Server列表", description = "获取指定Nacos实例中的MCP Server列表，可按命名空间过滤")
+    @Operation(summary = "获取Nacos中的MCP Server列表", description = "获取指定Nacos实例中的MCP Server列表，可按命名空间过滤、按名称模糊搜索")
     @GetMapping("/{nacosId}/mcp-servers")
     public PageResult<NacosMCPServerResult> fetchMcpServers(@PathVariable String nacosId,
                                                             @RequestParam(value = "namespaceId", required = false) String namespaceId,
+                                                            @RequestParam(value = "mcpServerName", required = false) String mcpServerName,
                                                             Pageable pageable) throws Exception {
-        return nacosService.fetchMcpServers(nacosId, namespaceId, pageable);
+        return nacosService.fetchMcpServers(nacosId, namespaceId, mcpServerName, pageable);
     }
 
     @Operation(summary = "获取指定Nacos实例的命名空间列表")
@@ -21,6 +21,7 @@ package com.alibaba.apiopenplatform.controller;
 
 import com.alibaba.apiopenplatform.core.annotation.AdminAuth;
 import com.alibaba.apiopenplatform.core.annotation.AdminOrDeveloperAuth;
+import com.alibaba.apiopenplatform.core.utils.HttpCacheUtil;
 import com.alibaba.apiopenplatform.dto.params.product.*;
 import com.alibaba.apiopenplatform.dto.params.product.CreateProductRefParam;
 import com.alibaba.apiopenplatform.dto.result.*;
@@ -29,7 +30,10 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -53,16 +57,53 @@ public class ProductController {
     @Operation(summary = "获取API产品列表")
     @GetMapping
     public PageResult<ProductResult> listProducts(QueryProductParam param,
-                                                  Pageable pageable) {
+                                                  Pageable pageable,
+                                                  WebRequest webRequest) {
+        if (HttpCacheUtil.checkNotModified(webRequest, productService.getCatalogETag(param, pageable))) {
+            return null;
+        }
         return productService.listProducts(param, pageable);
     }
 
+    @Operation(summary = "全文检索API产品")
+    @GetMapping("/search")
+    public PageResult<ProductResult> searchProducts(@RequestParam String keyword, Pageable pageable) {
+        return productService.searchProducts(keyword, pageable);
+    }
+
+    @Operation(summary = "获取当前门户的产品目录版本号")
+    @GetMapping("/catalog-version")
+    public long getCatalogVersion() {
+        return productService.getCatalogVersion();
+    }
+
     @Operation(summary = "获取API产品详情")
     @GetMapping("/{productId}")
-    public ProductResult getProduct(@PathVariable String productId) {
+    public ProductResult getProduct(@PathVariable String productId, WebRequest webRequest) {
+        if (HttpCacheUtil.checkNotModified(webRequest, productService.getProductETag(productId))) {
+            return null;
+        }
         return productService.getProduct(productId);
     }
 
+    @Operation(summary = "下载API定义", description = "支持ETag与Range请求")
+    @GetMapping("/{productId}/spec")
+    public ResponseEntity<Resource> getProductSpec(@PathVariable String productId, WebRequest webRequest) {
+        if (HttpCacheUtil.checkNotModified(webRequest, productService.getProductETag(productId))) {
+            return null;
+        }
+        return HttpCacheUtil.textResource(productService.getProductSpec(productId));
+    }
+
+    @Operation(summary = "下载MCP工具定义", description = "支持ETag与Range请求")
+    @GetMapping("/{productId}/tools")
+    public ResponseEntity<Resource> getProductTools(@PathVariable String productId, WebRequest webRequest) {
+        if (HttpCacheUtil.checkNotModified(webRequest, productService.getProductETag(productId))) {
+            return null;
+        }
+        return HttpCacheUtil.textResource(productService.getProductTools(productId));
+    }
+
     @Operation(summary = "更新API产品")
     @PutMapping("/{productId}")
     @AdminAuth
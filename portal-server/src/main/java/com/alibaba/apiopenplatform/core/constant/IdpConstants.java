@@ -74,4 +74,9 @@ public class IdpConstants {
      * 用户信息端点
      */
     public static final String USERINFO_ENDPOINT = "userinfo_endpoint";
+
+    /**
+     * JWK Set端点
+     */
+    public static final String JWKS_URI = "jwks_uri";
 }
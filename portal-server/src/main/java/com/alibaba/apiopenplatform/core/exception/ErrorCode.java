@@ -55,6 +55,11 @@ public enum ErrorCode {
      */
     CONFLICT(HttpStatus.CONFLICT, "资源冲突：{}"),
 
+    /**
+     * 请求过多，稍后重试
+     */
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "请求过多：{}"),
+
 
     // 服务端错误 (500-599)
     /**
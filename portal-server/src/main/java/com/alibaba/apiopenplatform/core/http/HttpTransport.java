@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.http;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一的出站HTTP传输层
+ * <p>
+ * 所有OkHttp客户端派生自同一个基础客户端；按上游类型（higress、adp、idp等）划分连接池与超时。
+ * RestTemplate的同步调用在调用线程上执行、不经过OkHttp的Dispatcher，并发限制只由拦截器实现：
+ * 先取上游主机许可、再取全局许可，导入再多网关也不会无限增加连接。
+ * TLS上游通过ALPN协商HTTP/2，不支持时回落HTTP/1.1。
+ * <p>
+ * 每类上游的参数可通过 http.upstream.&lt;type&gt;.* 配置：connect-timeout、read-timeout、write-timeout（毫秒）、
+ * max-idle（空闲连接数）、keep-alive（毫秒）、max-requests（单主机并发数）。
+ */
+@Component
+@Slf4j
+public class HttpTransport {
+
+    private static final String PROPERTY_PREFIX = "http.upstream.";
+
+    private final Environment environment;
+
+    private final OkHttpClient baseClient;
+
+    private final Semaphore globalPermits;
+
+    private final int maxRequests;
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    private final LongAdder rejections = new LongAdder();
+
+    public HttpTransport(Environment environment) {
+        this.environment = environment;
+        this.maxRequests = environment.getProperty("http.max-requests", Integer.class, 256);
+        this.globalPermits = new Semaphore(maxRequests);
+        this.baseClient = new OkHttpClient.Builder()
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .build();
+    }
+
+    /**
+     * 获取上游类型对应的RestTemplate
+     */
+    public RestTemplate restTemplate(String upstream) {
+        return partition(upstream).restTemplate;
+    }
+
+    /**
+     * 获取上游类型对应的OkHttp客户端
+     */
+    public OkHttpClient client(String upstream) {
+        return partition(upstream).client;
+    }
+
+    /**
+     * 各类上游的连接池与并发使用情况
+     */
+    public Map<String, PoolStats> getPoolStats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        partitions.forEach((name, partition) -> {
+            Map<String, Integer> inFlight = new LinkedHashMap<>();
+            partition.hostPermits.forEach((host, permits) ->
+                    inFlight.put(host, partition.maxRequestsPerHost - permits.availablePermits()));
+            stats.put(name, PoolStats.builder()
+                    .connections(partition.pool.connectionCount())
+                    .idleConnections(partition.pool.idleConnectionCount())
+                    .maxIdleConnections(partition.maxIdle)
+                    .maxRequestsPerHost(partition.maxRequestsPerHost)
+                    .inFlight(inFlight)
+                    .requests(partition.requests.sum())
+                    .rejections(partition.rejections.sum())
+                    .build());
+        });
+        return stats;
+    }
+
+    public int getInFlight() {
+        return maxRequests - globalPermits.availablePermits();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitions.values().forEach(partition -> partition.pool.evictAll());
+    }
+
+    private Partition partition(String upstream) {
+        Partition partition = partitions.get(upstream);
+        if (partition != null) {
+            return partition;
+        }
+        return partitions.computeIfAbsent(upstream, this::createPartition);
+    }
+
+    private Partition createPartition(String upstream) {
+        long connectTimeout = property(upstream, "connect-timeout", 5000L);
+        long readTimeout = property(upstream, "read-timeout", 5000L);
+        long writeTimeout = property(upstream, "write-timeout", 5000L);
+        long keepAlive = property(upstream, "keep-alive", 300000L);
+        int maxIdle = property(upstream, "max-idle", 10L).intValue();
+        int maxRequestsPerHost = property(upstream, "max-requests", 32L).intValue();
+
+        Partition partition = new Partition(new ConnectionPool(maxIdle, keepAlive, TimeUnit.MILLISECONDS),
+                maxIdle, maxRequestsPerHost, connectTimeout);
+        partition.client = baseClient.newBuilder()
+                .connectionPool(partition.pool)
+                .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
+                .writeTimeout(writeTimeout, TimeUnit.MILLISECONDS)
+                .addInterceptor(partition)
+                .build();
+        partition.restTemplate = new RestTemplate(new OkHttp3ClientHttpRequestFactory(partition.client));
+
+        log.info("Created HTTP partition {}: connectTimeout={}ms, readTimeout={}ms, maxIdle={}, maxRequestsPerHost={}",
+                upstream, connectTimeout, readTimeout, maxIdle, maxRequestsPerHost);
+        return partition;
+    }
+
+    private Long property(String upstream, String key, long defaultValue) {
+        return environment.getProperty(PROPERTY_PREFIX + upstream + "." + key, Long.class, defaultValue);
+    }
+
+    @Data
+    @Builder
+    public static class PoolStats {
+
+        private int connections;
+
+        private int idleConnections;
+
+        private int maxIdleConnections;
+
+        private int maxRequestsPerHost;
+
+        /**
+         * 主机 -> 进行中的请求数
+         */
+        private Map<String, Integer> inFlight;
+
+        private long requests;
+
+        private long rejections;
+    }
+
+    /**
+     * 一类上游的连接池与并发控制
+     */
+    private class Partition implements Interceptor {
+
+        private final ConnectionPool pool;
+
+        private final int maxIdle;
+
+        private final int maxRequestsPerHost;
+
+        private final long acquireTimeoutMillis;
+
+        private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder rejections = new LongAdder();
+
+        private OkHttpClient client;
+
+        private RestTemplate restTemplate;
+
+        Partition(ConnectionPool pool, int maxIdle, int maxRequestsPerHost, long acquireTimeoutMillis) {
+            this.pool = pool;
+            this.maxIdle = maxIdle;
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            String host = chain.request().url().host() + ":" + chain.request().url().port();
+            Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxRequestsPerHost));
+
+            // 先取主机许可，单个慢上游排队时不占用全局许可
+            acquire(permits, host);
+            try {
+                acquire(globalPermits, host);
+                try {
+                    requests.increment();
+                    return chain.proceed(chain.request());
+                } finally {
+                    globalPermits.release();
+                }
+            } finally {
+                permits.release();
+            }
+        }
+
+        private void acquire(Semaphore semaphore, String host) throws IOException {
+            try {
+                if (!semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    rejections.increment();
+                    HttpTransport.this.rejections.increment();
+                    throw new IOException("Too many concurrent requests to " + host);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for connection to " + host);
+            }
+        }
+    }
+}
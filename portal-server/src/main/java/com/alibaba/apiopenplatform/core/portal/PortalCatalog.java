@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.portal;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONUtil;
+import com.alibaba.apiopenplatform.core.utils.TransactionUtil;
+import com.alibaba.apiopenplatform.dto.params.product.QueryProductParam;
+import com.alibaba.apiopenplatform.dto.result.APIConfigResult;
+import com.alibaba.apiopenplatform.dto.result.MCPConfigResult;
+import com.alibaba.apiopenplatform.dto.result.PageResult;
+import com.alibaba.apiopenplatform.dto.result.ProductResult;
+import com.alibaba.apiopenplatform.support.enums.ProductStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 门户产品目录快照
+ * <p>
+ * 每个门户缓存一份已发布产品的不可变快照，开发者浏览目录时的列表、筛选、分页直接在内存中完成。
+ * 产品变更在事务提交后按产品增量更新已缓存的快照。快照版本号由快照内容（数据库中的产品、发布关系与关联配置）摘要得出，
+ * 数据一致的节点给出相同的版本号与ETag，前端可轮询版本号判断是否需要刷新。
+ * 快照带有效期，以便其他节点的变更最终生效。快照中的产品对象不对外暴露，查询结果均为副本。
+ */
+@Component
+@Slf4j
+public class PortalCatalog {
+
+    private static final long TTL_MILLIS = 5 * 60 * 1000L;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 获取门户目录快照，未缓存或已过期时通过loader加载门户的全部已发布产品
+     *
+     * @param portalId
+     * @param loader
+     * @return
+     */
+    public Snapshot get(String portalId, Function<String, List<CatalogItem>> loader) {
+        Snapshot snapshot = snapshots.get(portalId);
+        if (snapshot != null && snapshot.expireAt > System.currentTimeMillis()) {
+            return snapshot;
+        }
+
+        Snapshot current = new Snapshot(loader.apply(portalId));
+        snapshots.put(portalId, current);
+        log.debug("Portal catalog loaded, portal: {}, products: {}, version: {}", portalId, current.items.size(), current.version);
+        return current;
+    }
+
+    /**
+     * 产品变更后增量更新已缓存的快照，事务提交后生效
+     *
+     * @param productId
+     * @param loader    加载产品的最新目录条目，产品已删除时返回null
+     */
+    public void refreshProduct(String productId, Supplier<CatalogItem> loader) {
+        TransactionUtil.afterCommit(() -> {
+            if (snapshots.isEmpty()) {
+                return;
+            }
+            CatalogItem item = loader.get();
+            for (String portalId : snapshots.keySet()) {
+                snapshots.computeIfPresent(portalId, (k, old) -> old.patch(productId,
+                        item != null && item.portalIds.contains(portalId) ? item : null));
+            }
+        });
+    }
+
+    /**
+     * 移除门户快照
+     */
+    public void invalidate(String portalId) {
+        TransactionUtil.afterCommit(() -> snapshots.remove(portalId));
+    }
+
+    /**
+     * 目录条目
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class CatalogItem {
+
+        private final ProductResult product;
+
+        /**
+         * 产品表中的状态，用于按状态筛选
+         */
+        private final ProductStatus status;
+
+        /**
+         * 产品已发布的门户
+         */
+        private final Set<String> portalIds;
+
+        @Getter(AccessLevel.NONE)
+        private volatile String digest;
+
+        /**
+         * 条目内容摘要，与节点无关
+         */
+        String digest() {
+            if (digest == null) {
+                digest = DigestUtil.md5Hex(JSONUtil.toJsonStr(product) + "|" + status);
+            }
+            return digest;
+        }
+    }
+
+    public static class Snapshot {
+
+        @Getter
+        private final long version;
+
+        private final List<CatalogItem> items;
+
+        private final long expireAt;
+
+        Snapshot(List<CatalogItem> items) {
+            this(items, System.currentTimeMillis() + TTL_MILLIS);
+        }
+
+        private Snapshot(List<CatalogItem> items, long expireAt) {
+            this.items = Collections.unmodifiableList(items);
+            this.version = version(items);
+            this.expireAt = expireAt;
+        }
+
+        /**
+         * 按产品ID排序后对条目摘要再做摘要，与加载顺序、节点无关
+         */
+        private static long version(List<CatalogItem> items) {
+            String digests = items.stream()
+                    .sorted(Comparator.comparing((CatalogItem item) -> item.product.getProductId()))
+                    .map(CatalogItem::digest)
+                    .collect(Collectors.joining(","));
+            return ByteBuffer.wrap(DigestUtil.md5(digests)).getLong() & Long.MAX_VALUE;
+        }
+
+        Snapshot patch(String productId, CatalogItem item) {
+            List<CatalogItem> patched = new ArrayList<>(items.size() + 1);
+            CatalogItem previous = null;
+            for (CatalogItem existing : items) {
+                if (existing.product.getProductId().equals(productId)) {
+                    previous = existing;
+                } else {
+                    patched.add(existing);
+                }
+            }
+            if (item != null) {
+                patched.add(item);
+            }
+            if (previous == null && item == null
+                    || previous != null && item != null && previous.digest().equals(item.digest())) {
+                return this;
+            }
+            return new Snapshot(patched, expireAt);
+        }
+
+        /**
+         * 按查询条件筛选、排序、分页，排序字段不支持时返回null
+         *
+         * @param param
+         * @param nameMatchedIds 名称过滤命中的产品，为null时按名称包含匹配
+         * @param pageable
+         * @return
+         */
+        public PageResult<ProductResult> query(QueryProductParam param, Set<String> nameMatchedIds, Pageable pageable) {
+            Comparator<ProductResult> comparator = comparator(pageable.getSort());
+            if (comparator == null) {
+                return null;
+            }
+
+            List<ProductResult> matched = items.stream()
+                    .filter(item -> matches(item, param, nameMatchedIds))
+                    .map(CatalogItem::getProduct)
+                    .sorted(comparator)
+                    .collect(Collectors.toList());
+
+            if (pageable.isUnpaged()) {
+                return PageResult.of(copy(matched), 1, matched.size(), matched.size());
+            }
+            int from = (int) Math.min(pageable.getOffset(), matched.size());
+            int to = Math.min(from + pageable.getPageSize(), matched.size());
+            return PageResult.of(copy(matched.subList(from, to)),
+                    pageable.getPageNumber() + 1, pageable.getPageSize(), matched.size());
+        }
+
+        /**
+         * 复制产品及其配置对象，调用方修改结果不影响快照
+         */
+        private static List<ProductResult> copy(List<ProductResult> products) {
+            return products.stream().map(product -> {
+                ProductResult copy = BeanUtil.copyProperties(product, ProductResult.class);
+                if (product.getApiConfig() != null) {
+                    copy.setApiConfig(BeanUtil.copyProperties(product.getApiConfig(), APIConfigResult.class));
+                }
+                if (product.getMcpConfig() != null) {
+                    copy.setMcpConfig(BeanUtil.copyProperties(product.getMcpConfig(), MCPConfigResult.class));
+                }
+                return copy;
+            }).collect(Collectors.toList());
+        }
+
+        private static boolean matches(CatalogItem item, QueryProductParam param, Set<String> nameMatchedIds) {
+            ProductResult product = item.product;
+            if (param.getType() != null && param.getType() != product.getType()) {
+                return false;
+            }
+            if (StrUtil.isNotBlank(param.getCategory()) && !param.getCategory().equals(product.getCategory())) {
+                return false;
+            }
+            if (param.getStatus() != null && param.getStatus() != item.status) {
+                return false;
+            }
+            if (nameMatchedIds != null) {
+                return nameMatchedIds.contains(product.getProductId());
+            }
+            return StrUtil.isBlank(param.getName()) || StrUtil.containsIgnoreCase(product.getName(), param.getName());
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Comparator<ProductResult> comparator(Sort sort) {
+            Comparator<ProductResult> comparator = (a, b) -> 0;
+            for (Sort.Order order : sort) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(ProductResult.class, order.getProperty());
+                if (descriptor == null || descriptor.getReadMethod() == null
+                        || !Comparable.class.isAssignableFrom(descriptor.getPropertyType())) {
+                    return null;
+                }
+                Method getter = descriptor.getReadMethod();
+                // 与数据库一致，升序时null在前
+                Comparator<Comparable> values = Comparator.nullsFirst(Comparator.naturalOrder());
+                comparator = comparator.thenComparing(
+                        product -> (Comparable) ReflectionUtils.invokeMethod(getter, product),
+                        order.isAscending() ? values : values.reversed());
+            }
+            return comparator;
+        }
+    }
+}
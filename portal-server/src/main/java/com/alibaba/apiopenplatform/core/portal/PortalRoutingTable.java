@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.portal;
+
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.apiopenplatform.core.utils.TransactionUtil;
+import com.alibaba.apiopenplatform.entity.Portal;
+import com.alibaba.apiopenplatform.entity.PortalDomain;
+import com.alibaba.apiopenplatform.repository.PortalDomainRepository;
+import com.alibaba.apiopenplatform.repository.PortalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 域名到门户的内存路由表
+ * <p>
+ * 启动时从portal_domain全量加载，绑定/解绑域名、创建/删除门户时原地更新，请求路径上不访问数据库。
+ * 多节点部署时其他节点的变更通过定时全量重载同步。
+ * 支持精确域名与通配后缀（*.example.com）两种匹配方式，通配后缀按长度优先匹配。
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PortalRoutingTable {
+
+    private static final String WILDCARD_PREFIX = "*.";
+
+    private final PortalRepository portalRepository;
+
+    private final PortalDomainRepository portalDomainRepository;
+
+    /**
+     * 不可变路由快照，写操作整体替换
+     */
+    private volatile Routes routes = Routes.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 定时重载，使其他节点绑定/解绑的域名在本节点生效
+     */
+    @Scheduled(initialDelayString = "${portal.routing.refresh-interval:30000}",
+            fixedDelayString = "${portal.routing.refresh-interval:30000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Failed to refresh portal routing table: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库全量重建路由表
+     */
+    public synchronized void reload() {
+        Map<String, String> exact = new HashMap<>();
+        Map<String, String> wildcard = new HashMap<>();
+        for (PortalDomain portalDomain : portalDomainRepository.findAll()) {
+            put(exact, wildcard, portalDomain.getDomain(), portalDomain.getPortalId());
+        }
+
+        String defaultPortalId = portalRepository.findFirstByOrderByIdAsc()
+                .map(Portal::getPortalId)
+                .orElse(null);
+
+        Routes current = routes;
+        if (exact.equals(current.exact) && wildcard.equals(current.wildcardMap())
+                && Objects.equals(defaultPortalId, current.defaultPortalId)) {
+            return;
+        }
+        routes = new Routes(exact, wildcard, defaultPortalId);
+        log.info("Portal routing table loaded, {} exact domains, {} wildcard domains, default portal: {}",
+                exact.size(), wildcard.size(), defaultPortalId);
+    }
+
+    /**
+     * 解析域名对应的门户，未命中返回null
+     */
+    public String resolve(String domain) {
+        if (domain == null) {
+            return null;
+        }
+        Routes current = routes;
+        // 域名不区分大小写，已是小写时toLowerCase不产生新对象
+        String host = domain.toLowerCase();
+
+        String portalId = current.exact.get(host);
+        if (portalId != null) {
+            return portalId;
+        }
+
+        String[] suffixes = current.suffixes;
+        for (int i = 0; i < suffixes.length; i++) {
+            if (host.endsWith(suffixes[i])) {
+                return current.suffixPortalIds[i];
+            }
+        }
+        return null;
+    }
+
+    public String getDefaultPortal() {
+        return routes.defaultPortalId;
+    }
+
+    /**
+     * 绑定域名，事务提交后生效
+     */
+    public void bind(String portalId, String domain) {
+        TransactionUtil.afterCommit(() -> doBind(portalId, domain));
+    }
+
+    /**
+     * 解绑域名，事务提交后生效
+     */
+    public void unbind(String portalId, String domain) {
+        TransactionUtil.afterCommit(() -> doUnbind(portalId, domain));
+    }
+
+    /**
+     * 新建门户，无默认门户时将其作为默认门户
+     */
+    public void addPortal(String portalId, String domain) {
+        TransactionUtil.afterCommit(() -> {
+            doBind(portalId, domain);
+            if (routes.defaultPortalId == null) {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * 删除门户的全部域名，若为默认门户则重新选取
+     */
+    public void removePortal(String portalId) {
+        TransactionUtil.afterCommit(() -> {
+            if (StrUtil.equals(portalId, routes.defaultPortalId)) {
+                reload();
+                return;
+            }
+            synchronized (this) {
+                Routes current = routes;
+                Map<String, String> exact = new HashMap<>(current.exact);
+                Map<String, String> wildcard = current.wildcardMap();
+                exact.values().removeIf(portalId::equals);
+                wildcard.values().removeIf(portalId::equals);
+                routes = new Routes(exact, wildcard, current.defaultPortalId);
+            }
+        });
+    }
+
+    private synchronized void doBind(String portalId, String domain) {
+        Routes current = routes;
+        Map<String, String> exact = new HashMap<>(current.exact);
+        Map<String, String> wildcard = current.wildcardMap();
+        put(exact, wildcard, domain, portalId);
+        routes = new Routes(exact, wildcard, current.defaultPortalId);
+    }
+
+    private synchronized void doUnbind(String portalId, String domain) {
+        if (StrUtil.isBlank(domain)) {
+            return;
+        }
+        Routes current = routes;
+        Map<String, String> exact = new HashMap<>(current.exact);
+        Map<String, String> wildcard = current.wildcardMap();
+
+        String key = domain.trim().toLowerCase();
+        if (key.startsWith(WILDCARD_PREFIX)) {
+            wildcard.remove(key.substring(1), portalId);
+        } else {
+            exact.remove(key, portalId);
+        }
+        routes = new Routes(exact, wildcard, current.defaultPortalId);
+    }
+
+    private static void put(Map<String, String> exact, Map<String, String> wildcard, String domain, String portalId) {
+        if (StrUtil.isBlank(domain) || StrUtil.isBlank(portalId)) {
+            return;
+        }
+        String key = domain.trim().toLowerCase();
+        if (key.startsWith(WILDCARD_PREFIX)) {
+            // *.example.com -> .example.com
+            wildcard.put(key.substring(1), portalId);
+        } else {
+            exact.put(key, portalId);
+        }
+    }
+
+    private static class Routes {
+
+        static final Routes EMPTY = new Routes(new HashMap<>(), new HashMap<>(), null);
+
+        final Map<String, String> exact;
+
+        final String[] suffixes;
+
+        final String[] suffixPortalIds;
+
+        final String defaultPortalId;
+
+        Routes(Map<String, String> exact, Map<String, String> wildcard, String defaultPortalId) {
+            this.exact = exact;
+            this.defaultPortalId = defaultPortalId;
+
+            // 最长后缀优先
+            List<Map.Entry<String, String>> entries = new ArrayList<>(wildcard.entrySet());
+            entries.sort(Comparator.comparingInt((Map.Entry<String, String> e) -> e.getKey().length()).reversed());
+            this.suffixes = entries.stream().map(Map.Entry::getKey).toArray(String[]::new);
+            this.suffixPortalIds = entries.stream().map(Map.Entry::getValue).toArray(String[]::new);
+        }
+
+        Map<String, String> wildcardMap() {
+            Map<String, String> wildcard = new HashMap<>(suffixes.length);
+            for (int i = 0; i < suffixes.length; i++) {
+                wildcard.put(suffixes[i], suffixPortalIds[i]);
+            }
+            return wildcard;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.search;
+
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.apiopenplatform.core.utils.TransactionUtil;
+import com.alibaba.apiopenplatform.entity.ProductPublication;
+import com.alibaba.apiopenplatform.repository.ProductPublicationRepository;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository.ProductTools;
+import com.alibaba.apiopenplatform.repository.ProductRepository;
+import com.alibaba.apiopenplatform.repository.ProductRepository.ProductSearchFields;
+import com.alibaba.apiopenplatform.support.common.TextCompressor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * 产品目录全文索引
+ * <p>
+ * 对产品名称、描述、分类、文档以及MCP工具名称/描述建立内存倒排索引，支持前缀匹配、中文二元分词、按字段权重排序和门户范围过滤。
+ * 另对产品名称建立字符二元组索引，按名称子串过滤时语义与LIKE '%keyword%'一致，替代前导通配符的全表扫描。
+ * 启动后后台全量构建，产品及关联变更时在事务提交后增量更新，并定期全量重建以同步其他节点的变更。
+ * 索引未就绪时调用方回退到数据库查询。构建时只投影所需字段，不加载完整的产品与关联实体。
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    /**
+     * 文档只索引前32K字符，控制内存占用
+     */
+    private static final int MAX_DOCUMENT_CHARS = 32 * 1024;
+
+    /**
+     * 单个查询词前缀展开的最大词项数
+     */
+    private static final int MAX_PREFIX_EXPANSION = 1024;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final float WEIGHT_NAME = 10f;
+
+    private static final float WEIGHT_CATEGORY = 5f;
+
+    private static final float WEIGHT_TOOL_NAME = 4f;
+
+    private static final float WEIGHT_DESCRIPTION = 2f;
+
+    private static final float WEIGHT_TEXT = 1f;
+
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    private final ProductRepository productRepository;
+
+    private final ProductRefRepository productRefRepository;
+
+    private final ProductPublicationRepository publicationRepository;
+
+    private volatile Index index = new Index();
+
+    private volatile boolean ready;
+
+    private volatile boolean rebuilding;
+
+    /**
+     * 重建期间发生变更的产品，重建完成后补充更新
+     */
+    private final Set<String> pendingUpdates = ConcurrentHashMap.newKeySet();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async("taskExecutor")
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 全量重建
+     */
+    @Scheduled(initialDelayString = "${search.index.rebuild-interval:600000}",
+            fixedDelayString = "${search.index.rebuild-interval:600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        try {
+            Map<String, Set<String>> publications = new HashMap<>();
+            for (ProductPublication publication : publicationRepository.findAll()) {
+                publications.computeIfAbsent(publication.getProductId(), k -> new HashSet<>()).add(publication.getPortalId());
+            }
+
+            Index rebuilt = new Index();
+            long lastId = 0L;
+            List<ProductSearchFields> products;
+            do {
+                products = productRepository.findSearchFieldsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+                if (products.isEmpty()) {
+                    break;
+                }
+                List<String> productIds = products.stream()
+                        .map(ProductSearchFields::getProductId)
+                        .collect(Collectors.toList());
+                // 按关联主键升序返回，同一产品取第一条
+                Map<String, String> tools = new HashMap<>();
+                for (ProductTools row : productRefRepository.findToolsByProductIdIn(productIds)) {
+                    tools.putIfAbsent(row.getProductId(), row.getTools());
+                }
+                for (ProductSearchFields product : products) {
+                    rebuilt.put(toDocument(product, tools.get(product.getProductId()),
+                            publications.getOrDefault(product.getProductId(), Collections.emptySet())));
+                }
+                lastId = products.get(products.size() - 1).getId();
+            } while (products.size() == BATCH_SIZE);
+
+            index = rebuilt;
+            ready = true;
+            log.info("Product search index rebuilt, {} products, {} terms, cost {}ms",
+                    rebuilt.documents.size(), rebuilt.postings.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to rebuild product search index", e);
+        } finally {
+            rebuilding = false;
+        }
+
+        Set<String> pending = new HashSet<>(pendingUpdates);
+        pendingUpdates.removeAll(pending);
+        pending.forEach(this::doUpdate);
+    }
+
+    /**
+     * 产品或其关联、发布变更后增量更新，事务提交后生效
+     */
+    public void update(String productId) {
+        TransactionUtil.afterCommit(() -> {
+            if (rebuilding) {
+                pendingUpdates.add(productId);
+            }
+            doUpdate(productId);
+        });
+    }
+
+    private void doUpdate(String productId) {
+        try {
+            Optional<ProductSearchFields> product = productRepository.findSearchFieldsByProductId(productId);
+            if (!product.isPresent()) {
+                index.remove(productId);
+                return;
+            }
+            String tools = productRefRepository.findToolsByProductId(productId);
+            Set<String> portalIds = new HashSet<>(publicationRepository.findPortalIdsByProductId(productId));
+            index.put(toDocument(product.get(), tools, portalIds));
+        } catch (Exception e) {
+            log.warn("Failed to update product search index, productId: {}", productId, e);
+        }
+    }
+
+    /**
+     * 检索产品，按相关度降序
+     *
+     * @param portalId 为空时不限门户
+     * @param keyword
+     * @param limit
+     * @return 产品ID列表
+     */
+    public List<String> search(String portalId, String keyword, int limit) {
+        List<String> terms = tokenize(keyword);
+        String normalized = StrUtil.trim(keyword).toLowerCase();
+        if (terms.isEmpty() || normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Index current = index;
+        Map<String, Float> scores = null;
+        for (String term : terms) {
+            Map<String, Float> matched = current.match(term);
+            if (scores == null) {
+                scores = matched;
+            } else {
+                // 所有查询词都需命中
+                Map<String, Float> intersected = new HashMap<>();
+                for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                    Float score = matched.get(entry.getKey());
+                    if (score != null) {
+                        intersected.put(entry.getKey(), entry.getValue() + score);
+                    }
+                }
+                scores = intersected;
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Map.Entry<String, Float>> ranked = new ArrayList<>();
+        for (Map.Entry<String, Float> entry : scores.entrySet()) {
+            Document document = current.documents.get(entry.getKey());
+            if (document == null || portalId != null && !document.portalIds.contains(portalId)) {
+                continue;
+            }
+            float score = entry.getValue();
+            // 名称整体命中优先
+            if (document.name.startsWith(normalized)) {
+                score += WEIGHT_NAME * 3;
+            } else if (document.name.contains(normalized)) {
+                score += WEIGHT_NAME * 2;
+            }
+            entry.setValue(score);
+            ranked.add(entry);
+        }
+        ranked.sort(Map.Entry.<String, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 按名称子串过滤（忽略大小写），与名称LIKE '%keyword%'结果一致
+     *
+     * @param keyword
+     * @param limit   命中数上限
+     * @return 命中的产品ID；索引未就绪、关键字含LIKE通配符或命中数超过上限时返回null，由调用方回退到数据库查询
+     */
+    public Set<String> findByName(String keyword, int limit) {
+        if (!ready || StrUtil.isEmpty(keyword) || StrUtil.containsAny(keyword, '%', '_', '\\')) {
+            return null;
+        }
+        String normalized = keyword.toLowerCase();
+        Index current = index;
+
+        Collection<String> candidates = current.nameCandidates(normalized);
+        Set<String> matched = new HashSet<>();
+        for (String productId : candidates) {
+            Document document = current.documents.get(productId);
+            if (document != null && document.name.contains(normalized)) {
+                matched.add(productId);
+                if (matched.size() > limit) {
+                    return null;
+                }
+            }
+        }
+        return matched;
+    }
+
+    private Document toDocument(ProductSearchFields product, String tools, Set<String> portalIds) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, product.getName(), WEIGHT_NAME);
+        addTerms(terms, product.getCategory(), WEIGHT_CATEGORY);
+        addTerms(terms, product.getDescription(), WEIGHT_DESCRIPTION);
+        addTerms(terms, StrUtil.subPre(product.getDocument(), MAX_DOCUMENT_CHARS), WEIGHT_TEXT);
+
+        for (JsonNode tool : parseTools(tools)) {
+            addTerms(terms, tool.path("name").asText(null), WEIGHT_TOOL_NAME);
+            addTerms(terms, tool.path("description").asText(null), WEIGHT_TEXT);
+        }
+        return new Document(product.getProductId(), StrUtil.nullToEmpty(product.getName()).toLowerCase(),
+                terms, Collections.unmodifiableSet(new HashSet<>(portalIds)));
+    }
+
+    /**
+     * 解析MCP配置中的tools（YAML，可能为压缩内容）
+     */
+    private List<JsonNode> parseTools(String tools) {
+        if (StrUtil.isBlank(tools)) {
+            return Collections.emptyList();
+        }
+        try {
+            JsonNode toolsNode = YAML_MAPPER.readTree(TextCompressor.decompress(tools)).path("tools");
+            List<JsonNode> result = new ArrayList<>();
+            toolsNode.forEach(result::add);
+            return result;
+        } catch (Exception e) {
+            log.debug("Failed to parse mcp tools for search index: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        // 同一字段内的词项只计一次
+        for (String term : new HashSet<>(tokenize(text))) {
+            terms.merge(term, weight, Float::sum);
+        }
+    }
+
+    /**
+     * 分词：英文数字按词切分并转小写，中文按二元切分，单个汉字保留为一元词
+     */
+    static List<String> tokenize(String text) {
+        if (StrUtil.isBlank(text)) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase();
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            if (isHan(c)) {
+                int start = i;
+                while (i < length && isHan(lower.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    tokens.add(lower.substring(start, i));
+                }
+                for (int j = start; j + 2 <= i; j++) {
+                    tokens.add(lower.substring(j, j + 2));
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(lower.charAt(i)) && !isHan(lower.charAt(i))) {
+                    i++;
+                }
+                tokens.add(lower.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isHan(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+
+    private static class Document {
+
+        final String productId;
+
+        final String name;
+
+        final Map<String, Float> terms;
+
+        final Set<String> portalIds;
+
+        Document(String productId, String name, Map<String, Float> terms, Set<String> portalIds) {
+            this.productId = productId;
+            this.name = name;
+            this.terms = terms;
+            this.portalIds = portalIds;
+        }
+    }
+
+    private static class Index {
+
+        /**
+         * 词项 -> (产品ID -> 权重)，有序以支持前缀匹配
+         */
+        final ConcurrentSkipListMap<String, Map<String, Float>> postings = new ConcurrentSkipListMap<>();
+
+        /**
+         * 名称字符二元组 -> 产品ID
+         */
+        final Map<String, Set<String>> nameGrams = new ConcurrentHashMap<>();
+
+        final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+        synchronized void put(Document document) {
+            remove(document.productId);
+            for (Map.Entry<String, Float> term : document.terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), k -> new ConcurrentHashMap<>())
+                        .put(document.productId, term.getValue());
+            }
+            for (String gram : grams(document.name)) {
+                nameGrams.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(document.productId);
+            }
+            documents.put(document.productId, document);
+        }
+
+        synchronized void remove(String productId) {
+            Document previous = documents.remove(productId);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.terms.keySet()) {
+                postings.computeIfPresent(term, (k, docs) -> {
+                    docs.remove(productId);
+                    return docs.isEmpty() ? null : docs;
+                });
+            }
+            for (String gram : grams(previous.name)) {
+                nameGrams.computeIfPresent(gram, (k, ids) -> {
+                    ids.remove(productId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        /**
+         * 名称可能包含关键字的候选产品：名称包含关键字时必然包含其所有二元组，取最小的倒排表；单字符关键字遍历全部产品
+         */
+        Collection<String> nameCandidates(String keyword) {
+            if (keyword.length() < 2) {
+                return documents.keySet();
+            }
+            Set<String> smallest = null;
+            for (String gram : grams(keyword)) {
+                Set<String> ids = nameGrams.get(gram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                if (smallest == null || ids.size() < smallest.size()) {
+                    smallest = ids;
+                }
+            }
+            return smallest;
+        }
+
+        private static Set<String> grams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + 2 <= text.length(); i++) {
+                grams.add(text.substring(i, i + 2));
+            }
+            return grams;
+        }
+
+        /**
+         * 前缀匹配查询词，同一产品取最高权重
+         */
+        Map<String, Float> match(String term) {
+            Map<String, Float> matched = new HashMap<>();
+            int expanded = 0;
+            for (Map<String, Float> docs : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                for (Map.Entry<String, Float> doc : docs.entrySet()) {
+                    matched.merge(doc.getKey(), doc.getValue(), Math::max);
+                }
+                if (++expanded >= MAX_PREFIX_EXPANSION) {
+                    break;
+                }
+            }
+            return matched;
+        }
+    }
+}
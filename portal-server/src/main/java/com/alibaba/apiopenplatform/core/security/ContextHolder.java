@@ -21,6 +21,7 @@ package com.alibaba.apiopenplatform.core.security;
 
 import cn.hutool.core.util.EnumUtil;
 import com.alibaba.apiopenplatform.core.constant.CommonConstants;
+import com.alibaba.apiopenplatform.dto.result.PortalResult;
 import com.alibaba.apiopenplatform.support.enums.UserType;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
@@ -33,18 +34,43 @@ import org.springframework.stereotype.Component;
 @Component
 public class ContextHolder {
 
-    private final ThreadLocal<String> portalContext = new ThreadLocal<>();
+    private final ThreadLocal<RequestContext> requestContext = new ThreadLocal<>();
 
     public String getPortal() {
-        return portalContext.get();
+        RequestContext context = requestContext.get();
+        return context == null ? null : context.portalId;
     }
 
     public void savePortal(String portalId) {
-        portalContext.set(portalId);
+        RequestContext context = new RequestContext();
+        context.portalId = portalId;
+        requestContext.set(context);
     }
 
     public void clearPortal() {
-        portalContext.remove();
+        requestContext.remove();
+    }
+
+    /**
+     * 获取本次请求已加载的门户信息，未加载时返回null
+     *
+     * @return
+     */
+    public PortalResult getResolvedPortal() {
+        RequestContext context = requestContext.get();
+        return context == null ? null : context.portal;
+    }
+
+    /**
+     * 缓存本次请求的门户信息，仅缓存当前请求所属门户
+     *
+     * @param portal
+     */
+    public void saveResolvedPortal(PortalResult portal) {
+        RequestContext context = requestContext.get();
+        if (context != null && portal != null && portal.getPortalId().equals(context.portalId)) {
+            context.portal = portal;
+        }
     }
 
     /**
@@ -69,13 +95,26 @@ public class ContextHolder {
      */
     private UserType getCurrentUserType() {
         Authentication authentication = getAuthenticationFromContext();
-        return authentication.getAuthorities().stream()
+
+        // 同一认证信息在请求内只解析一次
+        RequestContext context = requestContext.get();
+        if (context != null && context.authentication == authentication) {
+            return context.userType;
+        }
+
+        UserType userType = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .filter(authority -> authority.startsWith(CommonConstants.ROLE_PREFIX))
                 .map(authority -> authority.substring(5))
                 .map(role -> EnumUtil.likeValueOf(UserType.class, role))
                 .findFirst()
                 .orElseThrow(() -> new AuthenticationCredentialsNotFoundException("User type not found in authentication"));
+
+        if (context != null) {
+            context.authentication = authentication;
+            context.userType = userType;
+        }
+        return userType;
     }
 
     public boolean isAdministrator() {
@@ -107,4 +146,18 @@ public class ContextHolder {
         }
         return authentication;
     }
+
+    /**
+     * 请求级上下文，由PortalResolvingFilter创建并在请求结束时清理
+     */
+    private static class RequestContext {
+
+        private String portalId;
+
+        private PortalResult portal;
+
+        private Authentication authentication;
+
+        private UserType userType;
+    }
 }
@@ -22,9 +22,11 @@ package com.alibaba.apiopenplatform.core.security;
 import com.alibaba.apiopenplatform.core.constant.CommonConstants;
 import com.alibaba.apiopenplatform.core.utils.TokenUtil;
 import com.alibaba.apiopenplatform.support.common.User;
+import com.alibaba.apiopenplatform.support.enums.UserType;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -36,6 +38,9 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -61,6 +66,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             "/error"
     };
 
+    /**
+     * 各用户类型对应的权限列表，避免每次请求重复构建
+     */
+    private static final Map<UserType, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserType.class);
+
+    static {
+        for (UserType userType : UserType.values()) {
+            AUTHORITIES.put(userType, Collections.singletonList(
+                    new SimpleGrantedAuthority(CommonConstants.ROLE_PREFIX + userType.name())));
+        }
+    }
+
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request,
                                     @NotNull HttpServletResponse response,
@@ -74,19 +91,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
+            // 已撤销的token在此返回null
             String token = TokenUtil.getTokenFromRequest(request);
             if (token != null) {
-                // 检查token是否被撤销
-                if (TokenUtil.isTokenRevoked(token)) {
-                    log.debug("Token已被撤销: {}", token);
+                try {
+                    authenticateRequest(token);
+                } catch (Exception e) {
+                    log.debug("Token认证失败: {}", e.getMessage());
                     SecurityContextHolder.clearContext();
-                } else {
-                    try {
-                        authenticateRequest(token);
-                    } catch (Exception e) {
-                        log.debug("Token认证失败: {}", e.getMessage());
-                        SecurityContextHolder.clearContext();
-                    }
                 }
             }
         } catch (Exception e) {
@@ -113,12 +125,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private void authenticateRequest(String token) {
         User user = TokenUtil.parseUser(token);
+        if (user.getUserType() == null) {
+            throw new IllegalArgumentException("User type not found in token");
+        }
         // 设置认证信息
-        String role = CommonConstants.ROLE_PREFIX + user.getUserType().name();
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 user.getUserId(),
                 null,
-                Collections.singletonList(new SimpleGrantedAuthority(role))
+                AUTHORITIES.get(user.getUserType())
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.security;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.EnumUtil;
+import cn.hutool.jwt.signers.JWTSigner;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import com.alibaba.apiopenplatform.core.exception.BusinessException;
+import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.core.utils.TransactionUtil;
+import com.alibaba.apiopenplatform.service.IdpService;
+import com.alibaba.apiopenplatform.support.enums.GrantType;
+import com.alibaba.apiopenplatform.support.enums.JwtAlgorithm;
+import com.alibaba.apiopenplatform.support.portal.OAuth2Config;
+import com.alibaba.apiopenplatform.support.portal.PortalSettingConfig;
+import com.alibaba.apiopenplatform.support.portal.PublicKeyConfig;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * JWT Bearer验签器缓存，(portalId, provider, kid) -> JWTSigner
+ * <p>
+ * 门户配置保存时重建，缓存条目带有效期，以便其他节点的配置变更最终生效。
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class JwtBearerSignerCache {
+
+    private static final long TTL_MILLIS = 5 * 60 * 1000L;
+
+    private final IdpService idpService;
+
+    private final Map<String, PortalSigners> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取门户的验签器，未缓存或已过期时通过loader加载门户配置
+     *
+     * @param portalId
+     * @param loader
+     * @return
+     */
+    public PortalSigners get(String portalId, Supplier<PortalSettingConfig> loader) {
+        PortalSigners signers = cache.get(portalId);
+        if (signers == null || signers.expireAt <= System.currentTimeMillis()) {
+            signers = build(loader.get());
+            cache.put(portalId, signers);
+        }
+        return signers;
+    }
+
+    /**
+     * 门户配置保存后重建，事务提交后生效
+     *
+     * @param portalId
+     * @param setting
+     */
+    public void rebuild(String portalId, PortalSettingConfig setting) {
+        TransactionUtil.afterCommit(() -> cache.put(portalId, build(setting)));
+    }
+
+    public void invalidate(String portalId) {
+        TransactionUtil.afterCommit(() -> cache.remove(portalId));
+    }
+
+    private PortalSigners build(PortalSettingConfig setting) {
+        Map<String, ProviderSigners> providers = new HashMap<>();
+        if (setting != null && CollUtil.isNotEmpty(setting.getOauth2Configs())) {
+            for (OAuth2Config config : setting.getOauth2Configs()) {
+                // 仅JWT Bearer模式，同一provider取第一个配置
+                if (config.getGrantType() != GrantType.JWT_BEARER
+                        || config.getJwtBearerConfig() == null
+                        || CollUtil.isEmpty(config.getJwtBearerConfig().getPublicKeys())
+                        || providers.containsKey(config.getProvider())) {
+                    continue;
+                }
+
+                Map<String, JWTSigner> signers = new HashMap<>();
+                for (PublicKeyConfig keyConfig : config.getJwtBearerConfig().getPublicKeys()) {
+                    if (signers.containsKey(keyConfig.getKid())) {
+                        continue;
+                    }
+                    try {
+                        PublicKey publicKey = idpService.loadPublicKey(keyConfig.getFormat(), keyConfig.getValue());
+                        signers.put(keyConfig.getKid(), createJWTSigner(keyConfig.getAlgorithm(), publicKey));
+                    } catch (Exception e) {
+                        log.warn("Failed to load public key, provider: {}, kid: {}", config.getProvider(), keyConfig.getKid(), e);
+                    }
+                }
+                providers.put(config.getProvider(), new ProviderSigners(config, Collections.unmodifiableMap(signers)));
+            }
+        }
+
+        boolean configured = setting != null && setting.getOauth2Configs() != null;
+        return new PortalSigners(configured, Collections.unmodifiableMap(providers), System.currentTimeMillis() + TTL_MILLIS);
+    }
+
+    private JWTSigner createJWTSigner(String algorithm, PublicKey publicKey) {
+        JwtAlgorithm alg = EnumUtil.fromString(JwtAlgorithm.class, algorithm.toUpperCase());
+
+        switch (alg) {
+            case RS256:
+                return JWTSignerUtil.rs256(publicKey);
+            case RS384:
+                return JWTSignerUtil.rs384(publicKey);
+            case RS512:
+                return JWTSignerUtil.rs512(publicKey);
+            case ES256:
+                return JWTSignerUtil.es256(publicKey);
+            case ES384:
+                return JWTSignerUtil.es384(publicKey);
+            case ES512:
+                return JWTSignerUtil.es512(publicKey);
+            default:
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER, "不支持的JWT签名算法");
+        }
+    }
+
+    @RequiredArgsConstructor
+    public static class PortalSigners {
+
+        /**
+         * 门户是否配置了OAuth2
+         */
+        @Getter
+        private final boolean configured;
+
+        private final Map<String, ProviderSigners> providers;
+
+        private final long expireAt;
+
+        public ProviderSigners getProvider(String provider) {
+            return providers.get(provider);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ProviderSigners {
+
+        private final OAuth2Config config;
+
+        private final Map<String, JWTSigner> signers;
+
+        public JWTSigner getSigner(String kid) {
+            return signers.get(kid);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.security;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OIDC元数据缓存，按Issuer缓存Discovery文档，按URI缓存JWKS公钥
+ * <p>
+ * 条目过半有效期后由后台任务刷新；刷新失败时继续使用旧数据，以容忍IdP短暂不可用；
+ * 验签遇到未知kid时按冷却时间重新拉取JWKS，以支持密钥轮换。
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OidcMetadataCache {
+
+    private static final long TTL_MILLIS = 60 * 60 * 1000L;
+
+    /**
+     * 未使用超过该时间的条目不再后台刷新，直接移除
+     */
+    private static final long IDLE_MILLIS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * 两次拉取之间的最小间隔，用于kid未命中重拉及拉取失败后的退避
+     */
+    private static final long COOLDOWN_MILLIS = 30 * 1000L;
+
+    private static final String WELL_KNOWN_PATH = "/.well-known/openid-configuration";
+
+    private final RestTemplate restTemplate;
+
+    private final Map<String, Entry<Map<String, Object>>> discoveries = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry<Map<String, PublicKey>>> jwks = new ConcurrentHashMap<>();
+
+    /**
+     * 获取Issuer的Discovery文档
+     *
+     * @param issuer
+     * @return
+     */
+    public Map<String, Object> getDiscovery(String issuer) {
+        String key = StrUtil.removeSuffix(issuer, "/");
+        Entry<Map<String, Object>> entry = discoveries.get(key);
+        if (entry == null || entry.isExpired()) {
+            entry = refreshDiscovery(key, entry);
+        }
+        entry.touch();
+        return entry.value;
+    }
+
+    /**
+     * 获取JWKS中的公钥，kid为空且仅有一个公钥时返回该公钥
+     *
+     * @param jwksUri
+     * @param kid
+     * @return 未找到时返回null
+     */
+    public PublicKey getPublicKey(String jwksUri, String kid) {
+        Entry<Map<String, PublicKey>> entry = jwks.get(jwksUri);
+        if (entry == null || entry.isExpired()) {
+            entry = refreshJwks(jwksUri, entry);
+        }
+        entry.touch();
+
+        PublicKey publicKey = findKey(entry.value, kid);
+        if (publicKey == null && entry.canRetry()) {
+            // 可能发生了密钥轮换
+            log.info("Key {} not found in JWKS {}, refetching", kid, jwksUri);
+            entry = refreshJwks(jwksUri, entry);
+            publicKey = findKey(entry.value, kid);
+        }
+        return publicKey;
+    }
+
+    /**
+     * 后台刷新已过半有效期的条目
+     */
+    @Scheduled(initialDelay = 5 * 60 * 1000L, fixedDelay = 5 * 60 * 1000L)
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        discoveries.entrySet().removeIf(e -> e.getValue().lastAccess + IDLE_MILLIS <= now);
+        jwks.entrySet().removeIf(e -> e.getValue().lastAccess + IDLE_MILLIS <= now);
+
+        discoveries.forEach((issuer, entry) -> {
+            if (entry.isHalfExpired()) {
+                safeRefresh(() -> refreshDiscovery(issuer, entry));
+            }
+        });
+        jwks.forEach((uri, entry) -> {
+            if (entry.isHalfExpired()) {
+                safeRefresh(() -> refreshJwks(uri, entry));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<Map<String, Object>> refreshDiscovery(String issuer, Entry<Map<String, Object>> stale) {
+        String discoveryUrl = issuer + WELL_KNOWN_PATH;
+        try {
+            Map<String, Object> discovery = restTemplate.exchange(discoveryUrl, HttpMethod.GET, null, Map.class)
+                    .getBody();
+            if (discovery == null) {
+                throw new IllegalStateException("Empty discovery document");
+            }
+            Entry<Map<String, Object>> entry = new Entry<>(Collections.unmodifiableMap(discovery));
+            discoveries.put(issuer, entry);
+            return entry;
+        } catch (RuntimeException e) {
+            if (stale != null) {
+                log.warn("Failed to refresh OIDC discovery {}, using cached document", discoveryUrl, e);
+                stale.lastAttempt = System.currentTimeMillis();
+                return stale;
+            }
+            throw e;
+        }
+    }
+
+    private Entry<Map<String, PublicKey>> refreshJwks(String jwksUri, Entry<Map<String, PublicKey>> stale) {
+        try {
+            String body = restTemplate.getForObject(jwksUri, String.class);
+            JSONArray keys = JSONUtil.parseObj(body).getJSONArray("keys");
+
+            Map<String, PublicKey> publicKeys = new HashMap<>();
+            if (keys != null) {
+                for (int i = 0; i < keys.size(); i++) {
+                    JSONObject jwk = keys.getJSONObject(i);
+                    // 仅保留签名用途的公钥
+                    if (StrUtil.isNotBlank(jwk.getStr("use")) && !"sig".equals(jwk.getStr("use"))) {
+                        continue;
+                    }
+                    try {
+                        PublicKey publicKey = parseJwk(jwk);
+                        if (publicKey != null) {
+                            publicKeys.put(StrUtil.nullToEmpty(jwk.getStr("kid")), publicKey);
+                        }
+                    } catch (Exception e) {
+                        log.warn("Failed to parse JWK {} from {}", jwk.getStr("kid"), jwksUri, e);
+                    }
+                }
+            }
+
+            Entry<Map<String, PublicKey>> entry = new Entry<>(Collections.unmodifiableMap(publicKeys));
+            jwks.put(jwksUri, entry);
+            return entry;
+        } catch (RuntimeException e) {
+            if (stale != null) {
+                log.warn("Failed to refresh JWKS {}, using cached keys", jwksUri, e);
+                stale.lastAttempt = System.currentTimeMillis();
+                return stale;
+            }
+            throw e;
+        }
+    }
+
+    private PublicKey findKey(Map<String, PublicKey> keys, String kid) {
+        if (StrUtil.isBlank(kid)) {
+            return keys.size() == 1 ? keys.values().iterator().next() : null;
+        }
+        return keys.get(kid);
+    }
+
+    private PublicKey parseJwk(JSONObject jwk) throws Exception {
+        String kty = jwk.getStr("kty");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+
+        if ("RSA".equals(kty)) {
+            BigInteger modulus = new BigInteger(1, decoder.decode(jwk.getStr("n")));
+            BigInteger exponent = new BigInteger(1, decoder.decode(jwk.getStr("e")));
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+        }
+
+        if ("EC".equals(kty)) {
+            String curve;
+            switch (jwk.getStr("crv", "")) {
+                case "P-256":
+                    curve = "secp256r1";
+                    break;
+                case "P-384":
+                    curve = "secp384r1";
+                    break;
+                case "P-521":
+                    curve = "secp521r1";
+                    break;
+                default:
+                    return null;
+            }
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(curve));
+            ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(jwk.getStr("x"))),
+                    new BigInteger(1, decoder.decode(jwk.getStr("y"))));
+            ECPublicKeySpec spec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+            return KeyFactory.getInstance("EC").generatePublic(spec);
+        }
+        return null;
+    }
+
+    private void safeRefresh(Runnable refresh) {
+        try {
+            refresh.run();
+        } catch (Exception e) {
+            log.warn("Background OIDC metadata refresh failed", e);
+        }
+    }
+
+    private static class Entry<T> {
+
+        private final T value;
+
+        private final long loadedAt = System.currentTimeMillis();
+
+        /**
+         * 最近一次拉取时间，含失败的拉取
+         */
+        private volatile long lastAttempt = loadedAt;
+
+        private volatile long lastAccess = loadedAt;
+
+        Entry(T value) {
+            this.value = value;
+        }
+
+        boolean canRetry() {
+            return lastAttempt + COOLDOWN_MILLIS <= System.currentTimeMillis();
+        }
+
+        boolean isExpired() {
+            return loadedAt + TTL_MILLIS <= System.currentTimeMillis() && canRetry();
+        }
+
+        boolean isHalfExpired() {
+            return loadedAt + TTL_MILLIS / 2 <= System.currentTimeMillis() && canRetry();
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
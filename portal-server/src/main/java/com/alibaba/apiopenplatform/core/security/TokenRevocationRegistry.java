@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.security;
+
+import com.alibaba.apiopenplatform.core.sync.ClusterLease;
+import com.alibaba.apiopenplatform.core.utils.BloomFilter;
+import com.alibaba.apiopenplatform.core.utils.TokenRevocationStore;
+import com.alibaba.apiopenplatform.entity.RevokedToken;
+import com.alibaba.apiopenplatform.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 集群共享的Token撤销登记
+ * <p>
+ * 撤销记录写入revoked_token表，各节点维护：
+ * 1. 全量未过期撤销记录的布隆过滤器，未命中即可判定未撤销；
+ * 2. 近期撤销记录（增量拉取及DB确认过的记录），命中即可判定已撤销；
+ * 3. 布隆误判的短期否定缓存。
+ * 仅在布隆命中且本地无法判定时查询数据库。
+ * <p>
+ * 自增ID按插入而非提交顺序分配，增量拉取不使用ID高水位，而是每次回扫最近一段时间创建的记录，
+ * 覆盖晚提交的撤销。
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationRegistry {
+
+    private static final int EXPECTED_REVOCATIONS = 100000;
+
+    private static final double BLOOM_FPP = 0.001;
+
+    private static final int MAX_NEGATIVE_ENTRIES = 10000;
+
+    /**
+     * 否定缓存有效期，期间其他节点的撤销会通过增量拉取覆盖
+     */
+    private static final long NEGATIVE_TTL_MILLIS = 10 * 60 * 1000L;
+
+    /**
+     * 增量拉取的回扫窗口，需覆盖事务提交延迟及节点间时钟偏差
+     */
+    private static final long POLL_OVERLAP_MILLIS = 60 * 1000L;
+
+    private static final String PURGE_LEASE_NAME = "revoked-token-purge";
+
+    private static final long PURGE_LEASE_MILLIS = 5 * 60 * 1000L;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final ClusterLease clusterLease;
+
+    private final TokenRevocationStore recentRevocations = new TokenRevocationStore(60 * 1000L, 512);
+
+    /**
+     * 布隆误判的Token，值为缓存失效时间
+     */
+    private final Map<String, Long> falsePositives = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter = new BloomFilter(EXPECTED_REVOCATIONS, BLOOM_FPP);
+
+    /**
+     * 上次增量拉取的开始时间
+     */
+    private volatile long lastPollAt = System.currentTimeMillis();
+
+    private final LongAdder dbLookups = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 撤销Token
+     *
+     * @param tokenId  Token摘要
+     * @param expireAt 过期时间（毫秒）
+     */
+    public void revoke(String tokenId, long expireAt) {
+        if (expireAt <= System.currentTimeMillis()) {
+            return;
+        }
+        recentRevocations.revoke(tokenId, expireAt);
+        bloomFilter.put(tokenId);
+        falsePositives.remove(tokenId);
+
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setTokenId(tokenId);
+        revokedToken.setExpireAt(toDateTime(expireAt));
+        try {
+            revokedTokenRepository.save(revokedToken);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token already revoked: {}", tokenId);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        if (recentRevocations.isRevoked(tokenId)) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        Long negativeUntil = falsePositives.get(tokenId);
+        if (negativeUntil != null && negativeUntil > now) {
+            return false;
+        }
+
+        dbLookups.increment();
+        RevokedToken revokedToken = revokedTokenRepository.findByTokenIdAndExpireAtAfter(tokenId, toDateTime(now))
+                .orElse(null);
+        if (revokedToken != null) {
+            recentRevocations.revoke(tokenId, toMillis(revokedToken.getExpireAt()));
+            return true;
+        }
+
+        if (falsePositives.size() >= MAX_NEGATIVE_ENTRIES) {
+            falsePositives.clear();
+        }
+        falsePositives.put(tokenId, now + NEGATIVE_TTL_MILLIS);
+        return false;
+    }
+
+    /**
+     * 增量拉取其他节点的撤销记录
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.poll-interval:3000}",
+            fixedDelayString = "${jwt.revocation.poll-interval:3000}")
+    public synchronized void poll() {
+        long pollAt = System.currentTimeMillis();
+        LocalDateTime since = toDateTime(lastPollAt - POLL_OVERLAP_MILLIS);
+        try {
+            List<RevokedToken> tokens;
+            long lastId = 0;
+            do {
+                tokens = revokedTokenRepository.findTop500ByCreateAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(since, lastId);
+                long now = System.currentTimeMillis();
+                for (RevokedToken token : tokens) {
+                    lastId = token.getId();
+                    String tokenId = token.getTokenId();
+                    long expireAt = toMillis(token.getExpireAt());
+                    // 回扫窗口内已登记的撤销直接跳过
+                    if (expireAt > now && !recentRevocations.isRevoked(tokenId)) {
+                        bloomFilter.put(tokenId);
+                        recentRevocations.revoke(tokenId, expireAt);
+                        falsePositives.remove(tokenId);
+                    }
+                }
+            } while (tokens.size() == 500);
+            lastPollAt = pollAt;
+        } catch (Exception e) {
+            log.warn("Failed to poll revoked tokens", e);
+        }
+    }
+
+    /**
+     * 重建布隆过滤器（布隆过滤器不支持删除）
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval:600000}",
+            fixedDelayString = "${jwt.revocation.rebuild-interval:600000}")
+    public synchronized void rebuild() {
+        try {
+            List<RevokedToken> tokens = revokedTokenRepository.findAllByExpireAtAfter(LocalDateTime.now());
+            BloomFilter filter = new BloomFilter(Math.max(EXPECTED_REVOCATIONS, tokens.size() * 2), BLOOM_FPP);
+            for (RevokedToken token : tokens) {
+                filter.put(token.getTokenId());
+            }
+            bloomFilter = filter;
+            falsePositives.clear();
+
+            log.info("Revoked token filter rebuilt with {} tokens", tokens.size());
+        } catch (Exception e) {
+            log.warn("Failed to rebuild revoked token filter", e);
+        }
+    }
+
+    /**
+     * 清理过期记录，集群内只由持有租约的节点执行
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval:600000}",
+            fixedDelayString = "${jwt.revocation.rebuild-interval:600000}")
+    public void purgeExpired() {
+        if (!clusterLease.tryAcquire(PURGE_LEASE_NAME, PURGE_LEASE_MILLIS)) {
+            return;
+        }
+        try {
+            int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+            log.debug("Purged {} expired revoked tokens", deleted);
+        } catch (Exception e) {
+            log.warn("Failed to purge expired revoked tokens", e);
+        }
+    }
+
+    public int getRecentSize() {
+        return recentRevocations.size();
+    }
+
+    public long getEvictions() {
+        return recentRevocations.getEvictions();
+    }
+
+    public long getDbLookups() {
+        return dbLookups.sum();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
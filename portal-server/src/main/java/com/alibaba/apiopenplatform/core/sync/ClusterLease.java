@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.apiopenplatform.core.sync;
+
+import cn.hutool.core.net.NetUtil;
+import cn.hutool.core.util.IdUtil;
+import com.alibaba.apiopenplatform.entity.SchedulerLease;
+import com.alibaba.apiopenplatform.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 基于数据库的定时任务租约
+ * <p>
+ * 同名任务在集群内同时只有一个节点持有租约，持有者在租约期内续约；
+ * 持有节点宕机后租约过期，由其他节点接管。
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ClusterLease {
+
+    private final SchedulerLeaseRepository leaseRepository;
+
+    /**
+     * 节点标识，同一主机上的多个实例也互不相同
+     */
+    private final String owner = NetUtil.getLocalHostName() + ":" + IdUtil.fastSimpleUUID();
+
+    /**
+     * 获取或续约
+     *
+     * @param name           任务名称
+     * @param durationMillis 租约时长
+     * @return 当前节点是否持有租约
+     */
+    public boolean tryAcquire(String name, long durationMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expireAt = now.plus(durationMillis, ChronoUnit.MILLIS);
+        try {
+            if (leaseRepository.acquire(name, owner, now, expireAt) > 0) {
+                return true;
+            }
+            if (leaseRepository.existsByName(name)) {
+                return false;
+            }
+            SchedulerLease lease = new SchedulerLease();
+            lease.setName(name);
+            lease.setOwner(owner);
+            lease.setExpireAt(expireAt);
+            leaseRepository.save(lease);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 其他节点同时创建
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to acquire lease: {}, error: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        try {
+            leaseRepository.release(name, owner, LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Failed to release lease: {}, error: {}", name, e.getMessage());
+        }
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
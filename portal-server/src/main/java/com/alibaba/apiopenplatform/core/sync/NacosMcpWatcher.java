@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.sync;
+
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository.NacosRefKey;
+import com.alibaba.apiopenplatform.service.NacosService;
+import com.alibaba.apiopenplatform.service.ProductService;
+import com.alibaba.apiopenplatform.support.enums.SourceType;
+import com.alibaba.apiopenplatform.support.product.NacosRefConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nacos MCP Server变更监听
+ * <p>
+ * 按Nacos实例与命名空间分组，每轮只拉取一次MCP Server列表并比较指纹，
+ * 仅对发生变化的MCP Server重新生成mcpConfig，工作量与变更数成正比。
+ * 指纹按产品分别记录，多个产品引用同一MCP Server时各自刷新。
+ * 集群内通过{@link ClusterLease}只由一个节点轮询，接管的节点首轮只记录指纹，期间的变更由定时全量同步兜底。
+ */
+@Component
+@Slf4j
+public class NacosMcpWatcher {
+
+    private static final String LEASE_NAME = "nacos-mcp-watch";
+
+    private final NacosService nacosService;
+
+    private final ProductService productService;
+
+    private final ProductRefRepository productRefRepository;
+
+    private final ClusterLease clusterLease;
+
+    private final boolean enabled;
+
+    /**
+     * 租约时长，持有节点连续三轮未续约后由其他节点接管
+     */
+    private final long leaseMillis;
+
+    /**
+     * nacosId/namespaceId/mcpServerName/productId -> 该产品最近一次观察到的指纹
+     */
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private final LongAdder changes = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    public NacosMcpWatcher(NacosService nacosService,
+                           ProductService productService,
+                           ProductRefRepository productRefRepository,
+                           ClusterLease clusterLease,
+                           @Value("${nacos.watch.enabled:true}") boolean enabled,
+                           @Value("${nacos.watch.interval:30000}") long interval) {
+        this.nacosService = nacosService;
+        this.productService = productService;
+        this.productRefRepository = productRefRepository;
+        this.clusterLease = clusterLease;
+        this.enabled = enabled;
+        this.leaseMillis = interval * 3;
+    }
+
+    @Scheduled(initialDelayString = "${nacos.watch.interval:30000}",
+            fixedDelayString = "${nacos.watch.interval:30000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        if (!clusterLease.tryAcquire(LEASE_NAME, leaseMillis)) {
+            // 其他节点负责轮询，丢弃本地指纹，重新接管时不会与过期指纹比较
+            fingerprints.clear();
+            return;
+        }
+
+        // nacosId/namespaceId -> 引用该命名空间MCP Server的产品
+        Map<Watch, List<NacosRefKey>> watches = new HashMap<>();
+        for (NacosRefKey ref : productRefRepository.findNacosRefsBySourceType(SourceType.NACOS)) {
+            NacosRefConfig refConfig = ref.getNacosRefConfig();
+            if (StrUtil.isBlank(ref.getNacosId()) || refConfig == null || StrUtil.isBlank(refConfig.getMcpServerName())) {
+                continue;
+            }
+            Watch watch = new Watch(ref.getNacosId(), StrUtil.nullToEmpty(refConfig.getNamespaceId()));
+            watches.computeIfAbsent(watch, k -> new ArrayList<>()).add(ref);
+        }
+
+        Set<String> watchedKeys = new HashSet<>();
+        watches.forEach((watch, refs) -> {
+            Map<String, String> current;
+            try {
+                current = nacosService.fetchMcpServerFingerprints(watch.nacosId, watch.namespaceId);
+            } catch (Exception e) {
+                failures.increment();
+                log.warn("Failed to watch Nacos MCP servers, nacosId: {}, namespace: {}, error: {}",
+                        watch.nacosId, watch.namespaceId, e.getMessage());
+                // 拉取失败时保留已有指纹，恢复后再比较
+                refs.forEach(ref -> watchedKeys.add(watch.key(ref)));
+                return;
+            }
+
+            for (NacosRefKey ref : refs) {
+                String key = watch.key(ref);
+                watchedKeys.add(key);
+
+                String fingerprint = current.get(ref.getNacosRefConfig().getMcpServerName());
+                if (fingerprint == null) {
+                    continue;
+                }
+                // 首次观察只记录指纹，存量数据由定时全量同步兜底
+                String previous = fingerprints.put(key, fingerprint);
+                if (previous != null && !previous.equals(fingerprint) && !refresh(ref)) {
+                    // 刷新失败时回退指纹，下一轮重试
+                    fingerprints.put(key, previous);
+                }
+            }
+        });
+        fingerprints.keySet().retainAll(watchedKeys);
+    }
+
+    private boolean refresh(NacosRefKey ref) {
+        try {
+            if (productService.resyncProductRef(ref.getProductId())) {
+                changes.increment();
+                log.info("Nacos MCP server {} changed, product {} refreshed",
+                        ref.getNacosRefConfig().getMcpServerName(), ref.getProductId());
+            }
+            return true;
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Failed to refresh product {} from Nacos, error: {}", ref.getProductId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 当前节点跟踪的产品引用数，未持有租约时为0
+     */
+    public int getWatchedServers() {
+        return fingerprints.size();
+    }
+
+    public long getChanges() {
+        return changes.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @lombok.Value
+    private static class Watch {
+
+        String nacosId;
+
+        String namespaceId;
+
+        String key(NacosRefKey ref) {
+            return nacosId + "/" + namespaceId + "/" + ref.getNacosRefConfig().getMcpServerName() + "/" + ref.getProductId();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.sync;
+
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository.ProductRefSyncKey;
+import com.alibaba.apiopenplatform.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 产品关联配置的后台同步
+ * <p>
+ * 按主键分批遍历ProductRef，从网关/Nacos重新拉取API/MCP配置，摘要不变的行不写库。
+ * 同一网关或Nacos实例的并发拉取数受限，避免集中刷新压垮上游控制面。
+ * 集群内通过{@link ClusterLease}只由一个节点执行同步，同步期间每批续约，统计指标只在执行节点上更新。
+ */
+@Component
+@Slf4j
+public class ProductRefSyncer {
+
+    private static final String LEASE_NAME = "product-ref-sync";
+
+    private final ProductService productService;
+
+    private final ProductRefRepository productRefRepository;
+
+    private final ClusterLease clusterLease;
+
+    private final boolean enabled;
+
+    /**
+     * 租约时长，与同步间隔一致，持有节点宕机后最多一个间隔由其他节点接管
+     */
+    private final long leaseMillis;
+
+    private final int chunkSize;
+
+    private final int upstreamConcurrency;
+
+    private final ExecutorService executor;
+
+    /**
+     * 每个上游（网关/Nacos实例）的并发许可
+     */
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder checked = new LongAdder();
+
+    private final LongAdder changed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * 最近一次完整同步的开始时间，之前的上游变更均已同步
+     */
+    private volatile long lastCompletedAt;
+
+    private volatile long lastDurationMillis;
+
+    private volatile long lastFailed;
+
+    public ProductRefSyncer(ProductService productService,
+                            ProductRefRepository productRefRepository,
+                            ClusterLease clusterLease,
+                            @Value("${product.sync.enabled:true}") boolean enabled,
+                            @Value("${product.sync.interval:1800000}") long interval,
+                            @Value("${product.sync.chunk-size:100}") int chunkSize,
+                            @Value("${product.sync.threads:4}") int threads,
+                            @Value("${product.sync.upstream-concurrency:2}") int upstreamConcurrency) {
+        this.productService = productService;
+        this.productRefRepository = productRefRepository;
+        this.clusterLease = clusterLease;
+        this.enabled = enabled;
+        this.leaseMillis = interval;
+        this.chunkSize = chunkSize;
+        this.upstreamConcurrency = upstreamConcurrency;
+        AtomicInteger index = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "ProductRefSyncer-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lastCompletedAt = System.currentTimeMillis();
+    }
+
+    @Scheduled(initialDelayString = "${product.sync.interval:1800000}",
+            fixedDelayString = "${product.sync.interval:1800000}")
+    public void syncAll() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        if (!clusterLease.tryAcquire(LEASE_NAME, leaseMillis)) {
+            log.debug("Product ref sync is running on another node");
+            running.set(false);
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        long failedBefore = failed.sum();
+        int total = 0;
+        int updated = 0;
+        try {
+            long lastId = 0;
+            while (true) {
+                List<ProductRefSyncKey> keys = productRefRepository.findSyncKeysAfter(lastId, PageRequest.of(0, chunkSize));
+                if (keys.isEmpty()) {
+                    break;
+                }
+                updated += syncChunk(keys);
+                total += keys.size();
+                lastId = keys.get(keys.size() - 1).getId();
+                if (keys.size() < chunkSize) {
+                    break;
+                }
+                if (!clusterLease.tryAcquire(LEASE_NAME, leaseMillis)) {
+                    log.warn("Product ref sync lease lost, stop at id {}", lastId);
+                    return;
+                }
+            }
+            lastCompletedAt = startedAt;
+        } catch (Exception e) {
+            log.error("Product ref sync aborted", e);
+        } finally {
+            lastDurationMillis = System.currentTimeMillis() - startedAt;
+            lastFailed = failed.sum() - failedBefore;
+            running.set(false);
+        }
+        log.info("Product ref sync finished in {}ms, {} checked, {} changed, {} failed",
+                lastDurationMillis, total, updated, lastFailed);
+    }
+
+    /**
+     * 并发同步一批关联，返回配置有变化的数量
+     */
+    private int syncChunk(List<ProductRefSyncKey> keys) {
+        AtomicInteger updated = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(keys.size());
+        for (ProductRefSyncKey key : keys) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (sync(key)) {
+                    updated.incrementAndGet();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return updated.get();
+    }
+
+    private boolean sync(ProductRefSyncKey key) {
+        String upstream = StrUtil.blankToDefault(key.getGatewayId(), StrUtil.nullToEmpty(key.getNacosId()));
+        Semaphore semaphore = permits.computeIfAbsent(upstream, k -> new Semaphore(upstreamConcurrency));
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            checked.increment();
+            boolean updated = productService.resyncProductRef(key.getProductId());
+            if (updated) {
+                changed.increment();
+                log.info("Product ref config changed, productId: {}", key.getProductId());
+            }
+            return updated;
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Failed to sync product ref, productId: {}, error: {}", key.getProductId(), e.getMessage());
+            return false;
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 同步延迟：距最近一次完整同步开始的时间
+     */
+    public long getSyncLagMillis() {
+        return System.currentTimeMillis() - lastCompletedAt;
+    }
+
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    public long getLastFailed() {
+        return lastFailed;
+    }
+
+    public long getChecked() {
+        return checked.sum();
+    }
+
+    public long getChanged() {
+        return changed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        clusterLease.release(LEASE_NAME);
+    }
+}
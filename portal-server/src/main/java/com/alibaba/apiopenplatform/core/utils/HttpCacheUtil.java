@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.utils;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 条件请求工具
+ * <p>
+ * ETag由实体版本（updatedAt、快照版本等）计算，命中If-None-Match时直接返回304，跳过Service层的组装。
+ */
+public class HttpCacheUtil {
+
+    /**
+     * 需携带ETag重新验证，仅允许浏览器私有缓存
+     */
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private static final MediaType YAML = new MediaType("application", "yaml", StandardCharsets.UTF_8);
+
+    /**
+     * 由版本信息计算弱ETag
+     * <p>
+     * 响应可能被gzip压缩，压缩前后字节不同，只能声明语义等价；Tomcat也仅对弱ETag的响应启用压缩。
+     */
+    public static String weakETag(Object... versions) {
+        return "W/\"" + DigestUtil.md5Hex(StrUtil.join("|", versions)) + "\"";
+    }
+
+    /**
+     * 设置ETag与Cache-Control，客户端缓存仍有效时返回true，此时Controller直接返回null即可
+     *
+     * @param request
+     * @param eTag    为空时不做条件判断
+     * @return
+     */
+    public static boolean checkNotModified(WebRequest request, String eTag) {
+        if (StrUtil.isBlank(eTag)) {
+            return false;
+        }
+        if (request instanceof ServletWebRequest) {
+            HttpServletResponse response = ((ServletWebRequest) request).getResponse();
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            }
+        }
+        return request.checkNotModified(eTag);
+    }
+
+    /**
+     * 以原文返回JSON/YAML文本，不经过统一响应包装；Range请求由Spring按Resource处理
+     *
+     * @param content 为空时返回204
+     * @return
+     */
+    public static ResponseEntity<Resource> textResource(String content) {
+        if (StrUtil.isEmpty(content)) {
+            return ResponseEntity.noContent().build();
+        }
+        String trimmed = StrUtil.trimStart(content);
+        MediaType contentType = trimmed.startsWith("{") || trimmed.startsWith("[") ?
+                MediaType.APPLICATION_JSON : YAML;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -19,17 +19,57 @@
 
 package com.alibaba.apiopenplatform.core.utils;
 
+import cn.hutool.core.util.StrUtil;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class PasswordHasher {
 
-    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder();
+    public static final int DEFAULT_COST = 10;
+
+    public static final int MIN_COST = 4;
+
+    /**
+     * 强度每加1耗时翻倍，12约数百毫秒，更高会超出哈希线程池的等待时间
+     */
+    public static final int MAX_COST = 12;
+
+    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder(DEFAULT_COST);
+
+    private static final Map<Integer, BCryptPasswordEncoder> ENCODERS = new ConcurrentHashMap<>();
 
     public static String hash(String plainPassword) {
         return ENCODER.encode(plainPassword);
     }
 
+    public static String hash(String plainPassword, int cost) {
+        return ENCODERS.computeIfAbsent(cost, BCryptPasswordEncoder::new).encode(plainPassword);
+    }
+
     public static boolean verify(String plainPassword, String hashed) {
         return ENCODER.matches(plainPassword, hashed);
     }
-} 
\ No newline at end of file
+
+    /**
+     * 哈希强度与目标强度不一致时需要重新哈希
+     */
+    public static boolean needsRehash(String hashed, int cost) {
+        return getCost(hashed) != cost;
+    }
+
+    /**
+     * 解析BCrypt哈希中的强度，格式：$2a$10$...
+     */
+    public static int getCost(String hashed) {
+        if (StrUtil.isBlank(hashed) || hashed.length() < 7 || hashed.charAt(0) != '$' || hashed.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hashed.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
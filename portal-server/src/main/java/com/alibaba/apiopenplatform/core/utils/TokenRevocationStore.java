@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已撤销Token存储
+ * <p>
+ * 以Token摘要为键，按过期时间落入时间轮槽位。撤销、查询均为O(1)，
+ * 过期清理随时间推进逐槽进行，每个条目每轮最多被访问一次，不再全量扫描。
+ */
+@Slf4j
+public class TokenRevocationStore {
+
+    private final long tickMillis;
+
+    private final Set<String>[] wheel;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private final ReentrantLock advanceLock = new ReentrantLock();
+
+    /**
+     * 已清理完成的时间刻度
+     */
+    private volatile long currentTick;
+
+    private final LongAdder revocations = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public TokenRevocationStore(long tickMillis, int wheelSize) {
+        this.tickMillis = tickMillis;
+        this.wheel = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.currentTick = System.currentTimeMillis() / tickMillis - 1;
+    }
+
+    /**
+     * 撤销Token
+     *
+     * @param key      Token摘要
+     * @param expireAt Token过期时间（毫秒）
+     */
+    public void revoke(String key, long expireAt) {
+        long now = System.currentTimeMillis();
+        if (expireAt <= now) {
+            return;
+        }
+        if (revoked.put(key, expireAt) == null) {
+            revocations.increment();
+        }
+        wheel[slot(expireAt / tickMillis)].add(key);
+        advance(now);
+    }
+
+    public boolean isRevoked(String key) {
+        Long expireAt = revoked.get(key);
+        if (expireAt == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        advance(now);
+        return expireAt > now;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public long getRevocations() {
+        return revocations.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 推进时间轮，清理已走过槽位中的过期条目
+     */
+    private void advance(long now) {
+        // 只清理已完整走过的刻度
+        long targetTick = now / tickMillis - 1;
+        if (targetTick <= currentTick || !advanceLock.tryLock()) {
+            return;
+        }
+        try {
+            long from = currentTick;
+            // 超过一整轮时只需扫描每个槽位一次
+            long to = Math.min(targetTick, from + wheel.length);
+            long evicted = 0;
+            for (long tick = from + 1; tick <= to; tick++) {
+                Set<String> bucket = wheel[slot(tick)];
+                for (String key : bucket) {
+                    Long expireAt = revoked.get(key);
+                    // 未到期的条目属于后续轮次，保留在槽位中
+                    if (expireAt == null || expireAt <= now) {
+                        bucket.remove(key);
+                        if (expireAt != null && revoked.remove(key, expireAt)) {
+                            evicted++;
+                        }
+                    }
+                }
+            }
+            currentTick = targetTick;
+
+            if (evicted > 0) {
+                evictions.add(evicted);
+                log.debug("Evicted {} expired revoked tokens, {} remaining", evicted, revoked.size());
+            }
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % wheel.length);
+    }
+}
@@ -25,10 +25,13 @@ import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.spring.SpringUtil;
 import cn.hutool.jwt.JWT;
 import cn.hutool.jwt.JWTUtil;
+import cn.hutool.jwt.signers.JWTSigner;
 import cn.hutool.jwt.signers.JWTSignerUtil;
 import com.alibaba.apiopenplatform.core.constant.CommonConstants;
+import com.alibaba.apiopenplatform.core.security.TokenRevocationRegistry;
 import com.alibaba.apiopenplatform.support.common.User;
 import com.alibaba.apiopenplatform.support.enums.UserType;
+import lombok.RequiredArgsConstructor;
 
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
@@ -43,7 +46,28 @@ public class TokenUtil {
 
     private static long JWT_EXPIRE_MILLIS;
 
-    private static final Map<String, Long> INVALID_TOKENS = new ConcurrentHashMap<>();
+    private static volatile TokenRevocationRegistry revocationRegistry;
+
+    /**
+     * 已验签Token缓存上限
+     */
+    private static final int MAX_VERIFIED_TOKENS = 10000;
+
+    /**
+     * 超限时每次淘汰的Token数
+     */
+    private static final int EVICT_BATCH_SIZE = MAX_VERIFIED_TOKENS / 10;
+
+    /**
+     * 已验签Token缓存，以签名段作为摘要键，命中时还需比对完整Token
+     */
+    private static final Map<String, VerifiedToken> VERIFIED_TOKENS = new ConcurrentHashMap<>();
+
+    /**
+     * HMac实例非线程安全，按线程复用签名器
+     */
+    private static final ThreadLocal<JWTSigner> SIGNER =
+            ThreadLocal.withInitial(() -> JWTSignerUtil.hs256(getJwtSecret().getBytes(StandardCharsets.UTF_8)));
 
     private static String getJwtSecret() {
         if (JWT_SECRET == null) {
@@ -99,35 +123,88 @@ public class TokenUtil {
                 .addPayloads(claims)
                 .setIssuedAt(new Date(now))
                 .setExpiresAt(new Date(now + getJwtExpireMillis()))
-                .setSigner(JWTSignerUtil.hs256(getJwtSecret().getBytes(StandardCharsets.UTF_8)))
+                .setSigner(SIGNER.get())
                 .sign();
     }
 
     /**
-     * 解析Token
+     * 解析Token，已验签且未过期的Token直接从缓存返回
      *
      * @param token
      * @return
      */
     public static User parseUser(String token) {
+        String key = digestKey(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = VERIFIED_TOKENS.get(key);
+        if (cached != null) {
+            if (cached.expireAt > now && cached.token.equals(token)) {
+                cached.lastAccess = now;
+                return cached.user;
+            }
+            if (cached.expireAt <= now) {
+                VERIFIED_TOKENS.remove(key, cached);
+            }
+        }
+
         JWT jwt = JWTUtil.parseToken(token);
 
         // 验证签名
-        boolean isValid = jwt.setSigner(JWTSignerUtil.hs256(getJwtSecret().getBytes(StandardCharsets.UTF_8))).verify();
+        boolean isValid = jwt.setSigner(SIGNER.get()).verify();
         if (!isValid) {
             throw new IllegalArgumentException("Invalid token signature");
         }
 
         // 验证过期时间
+        long expireAt = Long.MAX_VALUE;
         Object expObj = jwt.getPayloads().get(JWT.EXPIRES_AT);
         if (ObjectUtil.isNotNull(expObj)) {
-            long expireAt = Long.parseLong(expObj.toString());
-            if (expireAt * 1000 <= System.currentTimeMillis()) {
+            expireAt = Long.parseLong(expObj.toString()) * 1000;
+            if (expireAt <= now) {
                 throw new IllegalArgumentException("Token has expired");
             }
         }
 
-        return jwt.getPayloads().toBean(User.class);
+        User user = jwt.getPayloads().toBean(User.class);
+        cacheVerifiedToken(key, new VerifiedToken(token, user, expireAt));
+        return user;
+    }
+
+    private static void cacheVerifiedToken(String key, VerifiedToken verifiedToken) {
+        if (VERIFIED_TOKENS.size() >= MAX_VERIFIED_TOKENS) {
+            evictVerifiedTokens();
+        }
+        VERIFIED_TOKENS.put(key, verifiedToken);
+    }
+
+    /**
+     * 先清理过期Token，仍然超限时淘汰一批最久未访问的Token，其余Token继续命中缓存
+     */
+    private static synchronized void evictVerifiedTokens() {
+        if (VERIFIED_TOKENS.size() < MAX_VERIFIED_TOKENS) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        VERIFIED_TOKENS.values().removeIf(t -> t.expireAt <= now);
+
+        int excess = VERIFIED_TOKENS.size() - MAX_VERIFIED_TOKENS + EVICT_BATCH_SIZE;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<String, VerifiedToken>> entries = new ArrayList<>(VERIFIED_TOKENS.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<String, VerifiedToken> entry : entries.subList(0, Math.min(excess, entries.size()))) {
+            VERIFIED_TOKENS.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 以Token的签名段作为摘要键（HS256签名本身即为Token内容的摘要）
+     */
+    private static String digestKey(String token) {
+        int idx = token.lastIndexOf('.');
+        return idx < 0 ? token : token.substring(idx + 1);
     }
 
     public static String getTokenFromRequest(HttpServletRequest request) {
@@ -159,9 +236,9 @@ public class TokenUtil {
         if (StrUtil.isBlank(token)) {
             return;
         }
-        long expireAt = getTokenExpireTime(token);
-        INVALID_TOKENS.put(token, expireAt);
-        cleanExpiredTokens();
+        String key = digestKey(token);
+        getRevocationRegistry().revoke(key, getTokenExpireTime(token));
+        VERIFIED_TOKENS.remove(key);
     }
 
     private static long getTokenExpireTime(String token) {
@@ -184,23 +261,29 @@ public class TokenUtil {
         if (StrUtil.isBlank(token)) {
             return false;
         }
-        Long expireAt = INVALID_TOKENS.get(token);
-        if (expireAt == null) {
-            return false;
-        }
-        if (expireAt <= System.currentTimeMillis()) {
-            INVALID_TOKENS.remove(token);
-            return false;
-        }
-        return true;
+        return getRevocationRegistry().isRevoked(digestKey(token));
     }
 
-    private static void cleanExpiredTokens() {
-        long now = System.currentTimeMillis();
-        INVALID_TOKENS.entrySet().removeIf(entry -> entry.getValue() <= now);
+    private static TokenRevocationRegistry getRevocationRegistry() {
+        if (revocationRegistry == null) {
+            revocationRegistry = SpringUtil.getBean(TokenRevocationRegistry.class);
+        }
+        return revocationRegistry;
     }
 
     public static long getTokenExpiresIn() {
         return getJwtExpireMillis() / 1000;
     }
+
+    @RequiredArgsConstructor
+    private static class VerifiedToken {
+
+        private final String token;
+
+        private final User user;
+
+        private final long expireAt;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+    }
 }
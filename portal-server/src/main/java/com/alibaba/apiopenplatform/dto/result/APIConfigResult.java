@@ -26,6 +26,11 @@ public class APIConfigResult {
 
     private String spec;
 
+    /**
+     * API定义下载地址，详情接口不再内联spec
+     */
+    private String specUrl;
+
     private APIMetadata meta;
 
     @Data
@@ -34,6 +34,11 @@ public class MCPConfigResult {
 
     protected String tools;
 
+    /**
+     * 工具定义下载地址，详情接口不再内联tools
+     */
+    protected String toolsUrl;
+
     protected McpMetadata meta;
 
     @Data
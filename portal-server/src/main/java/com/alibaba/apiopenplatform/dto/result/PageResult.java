@@ -20,6 +20,8 @@
 package com.alibaba.apiopenplatform.dto.result;
 
 import com.alibaba.apiopenplatform.dto.converter.OutputConverter;
+import com.alibaba.apiopenplatform.repository.CursorPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -45,6 +47,12 @@ public class PageResult<T> implements OutputConverter<PageResult<T>, Page<T>> {
 
     private long totalElements;
 
+    /**
+     * 游标翻页时的下一页游标，为空表示没有更多数据；游标翻页时totalElements为-1
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     public <S> PageResult<T> mapFrom(PageResult<S> source, Function<S, T> mapper) {
         setContent(source.getContent().stream()
                 .map(mapper)
@@ -52,6 +60,7 @@ public class PageResult<T> implements OutputConverter<PageResult<T>, Page<T>> {
         setSize(source.getSize());
         setNumber(source.getNumber());
         setTotalElements(source.getTotalElements());
+        setNextCursor(source.getNextCursor());
         return this;
     }
 
@@ -63,6 +72,9 @@ public class PageResult<T> implements OutputConverter<PageResult<T>, Page<T>> {
         // 由Pageable转换时修正
         setNumber(source.getNumber() + 1);
         setTotalElements(source.getTotalElements());
+        if (source instanceof CursorPage) {
+            setNextCursor(((CursorPage<S>) source).getNextCursor());
+        }
         return this;
     }
 
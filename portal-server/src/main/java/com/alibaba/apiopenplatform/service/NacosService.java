@@ -30,6 +30,8 @@ import com.alibaba.apiopenplatform.support.product.NacosRefConfig;
 import org.springframework.data.domain.Pageable;
 import com.alibaba.apiopenplatform.dto.result.NacosNamespaceResult;
 
+import java.util.Map;
+
 /**
  * Nacos服务接口，定义Nacos实例管理和MCP服务器配置相关操作
  *
@@ -83,9 +85,11 @@ public interface NacosService {
      * @throws Exception 获取MCP Server列表时可能抛出的异常
      */
     /**
-     * 获取MCP Server列表 (指定命名空间, 可为空表示全部)
+     * 获取MCP Server列表 (指定命名空间, 可为空表示全部)，分页与名称搜索均由Nacos完成
+     *
+     * @param mcpServerName 名称关键字，为空时不过滤
      */
-    PageResult<NacosMCPServerResult> fetchMcpServers(String nacosId, String namespaceId, Pageable pageable) throws Exception;
+    PageResult<NacosMCPServerResult> fetchMcpServers(String nacosId, String namespaceId, String mcpServerName, Pageable pageable) throws Exception;
 
     /**
      * 获取MCP Server配置
@@ -96,6 +100,15 @@ public interface NacosService {
      */
     String fetchMcpConfig(String nacosId, NacosRefConfig nacosRefConfig);
 
+    /**
+     * 获取命名空间下全部MCP Server的指纹，用于判断MCP Server是否变化
+     *
+     * @param nacosId Nacos实例唯一标识
+     * @param namespaceId 命名空间
+     * @return MCP Server名称到指纹的映射
+     */
+    Map<String, String> fetchMcpServerFingerprints(String nacosId, String namespaceId);
+
     /**
      * 从阿里云MSE获取Nacos集群列表
      *
@@ -44,6 +44,13 @@ public interface PortalService {
      */
     PortalResult getPortal(String portalId);
 
+    /**
+     * 查询当前请求所属门户，同一请求内只加载一次
+     *
+     * @return
+     */
+    PortalResult getCurrentPortal();
+
     /**
      * 检查门户是否存在
      *
@@ -45,6 +45,30 @@ public interface ProductService {
      */
     ProductResult getProduct(String productId);
 
+    /**
+     * 查询API定义原文（OpenAPI spec）
+     *
+     * @param productId
+     * @return 未关联API定义时返回null
+     */
+    String getProductSpec(String productId);
+
+    /**
+     * 查询MCP工具定义原文
+     *
+     * @param productId
+     * @return 未关联MCP工具时返回null
+     */
+    String getProductTools(String productId);
+
+    /**
+     * 从网关/Nacos重新拉取产品关联的API/MCP配置，内容变化时才写库
+     *
+     * @param productId
+     * @return 配置是否发生变化
+     */
+    boolean resyncProductRef(String productId);
+
     /**
      * 查询API产品列表
      *
@@ -54,6 +78,39 @@ public interface ProductService {
      */
     PageResult<ProductResult> listProducts(QueryProductParam param, Pageable pageable);
 
+    /**
+     * 查询当前门户的产品目录版本号，目录变更时递增
+     *
+     * @return
+     */
+    long getCatalogVersion();
+
+    /**
+     * 全文检索API产品，按相关度排序
+     *
+     * @param keyword
+     * @param pageable
+     * @return
+     */
+    PageResult<ProductResult> searchProducts(String keyword, Pageable pageable);
+
+    /**
+     * 由产品、关联及发布状态的版本计算详情ETag，产品不可见时返回null
+     *
+     * @param productId
+     * @return
+     */
+    String getProductETag(String productId);
+
+    /**
+     * 由门户目录快照版本计算列表ETag，仅开发者浏览目录时返回
+     *
+     * @param param
+     * @param pageable
+     * @return
+     */
+    String getCatalogETag(QueryProductParam param, Pageable pageable);
+
     /**
      * 更新门户
      *
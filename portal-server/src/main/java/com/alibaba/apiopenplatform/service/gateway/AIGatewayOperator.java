@@ -31,6 +31,7 @@ import com.alibaba.apiopenplatform.dto.result.GatewayMCPServerResult;
 import com.alibaba.apiopenplatform.dto.result.*;
 import com.alibaba.apiopenplatform.entity.Gateway;
 import com.alibaba.apiopenplatform.service.gateway.client.APIGClient;
+import com.alibaba.apiopenplatform.service.gateway.client.GatewayClientRegistry;
 import com.alibaba.apiopenplatform.service.gateway.client.PopGatewayClient;
 import com.alibaba.apiopenplatform.service.gateway.client.SLSClient;
 import com.alibaba.apiopenplatform.support.consumer.APIGAuthConfig;
@@ -54,9 +55,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AIGatewayOperator extends APIGOperator {
 
+    public AIGatewayOperator(GatewayClientRegistry clientRegistry) {
+        super(clientRegistry);
+    }
+
     @Override
     public PageResult<? extends GatewayMCPServerResult> fetchMcpServers(Gateway gateway, int page, int size) {
-        PopGatewayClient client = new PopGatewayClient(gateway.getApigConfig());
+        PopGatewayClient client = clientRegistry.getPopClient(gateway.getApigConfig());
 
         Map<String , String> queryParams = MapUtil.<String, String>builder()
                 .put("gatewayId", gateway.getGatewayId())
@@ -112,7 +117,7 @@ public class AIGatewayOperator extends APIGOperator {
     @Override
     public String fetchMcpConfig(Gateway gateway, Object conf) {
         APIGRefConfig config = (APIGRefConfig) conf;
-        PopGatewayClient client = new PopGatewayClient(gateway.getApigConfig());
+        PopGatewayClient client = clientRegistry.getPopClient(gateway.getApigConfig());
         String mcpServerId = config.getMcpServerId();
         MCPConfigResult mcpConfig = new MCPConfigResult();
 
@@ -220,7 +225,7 @@ public class AIGatewayOperator extends APIGOperator {
 
     @Override
     public String getDashboard(Gateway gateway, String type) {
-        SLSClient ticketClient = new SLSClient(gateway.getApigConfig(), true);
+        SLSClient ticketClient = clientRegistry.getSLSTicketClient(gateway.getApigConfig());
         String ticket = null;
         try {
             CreateTicketResponse response = ticketClient.execute(c -> {
@@ -236,7 +241,7 @@ public class AIGatewayOperator extends APIGOperator {
             log.error("Error fetching API", e);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error fetching createTicket API,Cause:" + e.getMessage());
         }
-        SLSClient client = new SLSClient(gateway.getApigConfig(), false);
+        SLSClient client = clientRegistry.getSLSClient(gateway.getApigConfig());
         String projectName = null;
         try {
             ListProjectResponse response = client.execute(c -> {
@@ -36,6 +36,7 @@ import com.alibaba.apiopenplatform.entity.Gateway;
 import com.alibaba.apiopenplatform.entity.Consumer;
 import com.alibaba.apiopenplatform.entity.ConsumerCredential;
 import com.alibaba.apiopenplatform.service.gateway.client.APIGClient;
+import com.alibaba.apiopenplatform.service.gateway.client.GatewayClientRegistry;
 import com.alibaba.apiopenplatform.service.gateway.client.SLSClient;
 import com.alibaba.apiopenplatform.support.enums.GatewayType;
 import com.alibaba.apiopenplatform.support.gateway.GatewayConfig;
@@ -45,7 +46,6 @@ import com.aliyun.sdk.service.apig20240327.models.*;
 import com.aliyun.sdk.service.apig20240327.models.CreateConsumerAuthorizationRulesRequest.AuthorizationRules;
 import com.aliyun.sdk.service.apig20240327.models.CreateConsumerAuthorizationRulesRequest.ResourceIdentifier;
 import com.aliyun.sdk.service.sls20201230.models.*;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
@@ -56,12 +56,15 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 @Service
 @Slf4j
 @Primary
 public class APIGOperator extends GatewayOperator<APIGClient> {
 
+    public APIGOperator(GatewayClientRegistry clientRegistry) {
+        super(clientRegistry);
+    }
+
     @Override
     public PageResult<APIResult> fetchHTTPAPIs(Gateway gateway, int page, int size) {
         return fetchAPIs(gateway, APIGAPIType.HTTP, page, size);
@@ -125,7 +128,7 @@ public class APIGOperator extends GatewayOperator<APIGClient> {
     }
 
     public PageResult<GatewayResult> fetchGateways(QueryAPIGParam param, int page, int size) {
-        APIGClient client = new APIGClient(param.convertTo());
+        APIGClient client = clientRegistry.getAPIGClient(param.convertTo());
 
         List<GatewayResult> gateways = new ArrayList<>();
         try {
@@ -191,7 +194,7 @@ public class APIGOperator extends GatewayOperator<APIGClient> {
 
     @Override
     public String createConsumer(Consumer consumer, ConsumerCredential credential, GatewayConfig config) {
-        APIGClient client = new APIGClient(config.getApigConfig());
+        APIGClient client = clientRegistry.getAPIGClient(config.getApigConfig());
 
         String mark = consumer.getConsumerId().substring(Math.max(0, consumer.getConsumerId().length() - 8));
         String gwConsumerName = StrUtil.format("{}-{}", consumer.getName(), mark);
@@ -234,7 +237,7 @@ public class APIGOperator extends GatewayOperator<APIGClient> {
     }
 
     private String retrievalConsumer(String name, GatewayConfig gatewayConfig) {
-        APIGClient client = new APIGClient(gatewayConfig.getApigConfig());
+        APIGClient client = clientRegistry.getAPIGClient(gatewayConfig.getApigConfig());
 
         try {
             CompletableFuture<ListConsumersResponse> f = client.execute(c -> {
@@ -266,7 +269,7 @@ public class APIGOperator extends GatewayOperator<APIGClient> {
 
     @Override
     public void updateConsumer(String consumerId, ConsumerCredential credential, GatewayConfig config) {
-        APIGClient client = new APIGClient(config.getApigConfig());
+        APIGClient client = clientRegistry.getAPIGClient(config.getApigConfig());
         try {
             // ApiKey
             ApiKeyIdentityConfig apikeyIdentityConfig = convertToApiKeyIdentityConfig(credential.getApiKeyConfig());
@@ -300,7 +303,7 @@ public class APIGOperator extends GatewayOperator<APIGClient> {
 
     @Override
     public void deleteConsumer(String consumerId, GatewayConfig config) {
-        APIGClient client = new APIGClient(config.getApigConfig());
+        APIGClient client = clientRegistry.getAPIGClient(config.getApigConfig());
         try {
             DeleteConsumerRequest request = DeleteConsumerRequest.builder()
                     .consumerId(consumerId)
@@ -410,7 +413,7 @@ public class APIGOperator extends GatewayOperator<APIGClient> {
 
     @Override
     public String getDashboard(Gateway gateway, String type) {
-        SLSClient ticketClient = new SLSClient(gateway.getApigConfig(), true);
+        SLSClient ticketClient = clientRegistry.getSLSTicketClient(gateway.getApigConfig());
         String ticket = null;
         try {
             CreateTicketResponse response = ticketClient.execute(c -> {
@@ -426,7 +429,7 @@ public class APIGOperator extends GatewayOperator<APIGClient> {
             log.error("Error fetching API", e);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error fetching createTicker API,Cause:" + e.getMessage());
         }
-        SLSClient client = new SLSClient(gateway.getApigConfig(), false);
+        SLSClient client = clientRegistry.getSLSClient(gateway.getApigConfig());
         String projectName = null;
         try {
             ListProjectResponse response = client.execute(c -> {
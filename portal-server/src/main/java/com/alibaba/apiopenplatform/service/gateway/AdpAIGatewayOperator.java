@@ -12,10 +12,13 @@ import com.alibaba.apiopenplatform.support.consumer.ConsumerAuthConfig;
 import com.alibaba.apiopenplatform.support.enums.GatewayType;
 import com.alibaba.apiopenplatform.support.gateway.AdpAIGatewayConfig;
 import com.alibaba.apiopenplatform.service.gateway.client.AdpAIGatewayClient;
+import com.alibaba.apiopenplatform.service.gateway.client.GatewayClientRegistry;
 import com.alibaba.apiopenplatform.support.gateway.GatewayConfig;
 import com.alibaba.apiopenplatform.support.product.APIGRefConfig;
 import com.alibaba.apiopenplatform.dto.result.MCPConfigResult;
+import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
@@ -27,6 +30,8 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +41,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AdpAIGatewayOperator extends GatewayOperator {
 
+    /**
+     * 网关实例访问信息缓存时间，实例访问方式变更频率很低
+     */
+    private static final long INSTANCE_INFO_TTL = 5 * 60 * 1000;
+
+    /**
+     * gwInstanceId -> 访问域名
+     */
+    private final Map<String, CachedDomains> instanceDomains = new ConcurrentHashMap<>();
+
+    public AdpAIGatewayOperator(GatewayClientRegistry clientRegistry) {
+        super(clientRegistry);
+    }
+
+    @Override
+    public void removeClient(Gateway gateway) {
+        super.removeClient(gateway);
+        instanceDomains.remove(gateway.getGatewayId());
+    }
+
     @Override
     public PageResult<APIResult> fetchHTTPAPIs(Gateway gateway, int page, int size) {
         return null;
@@ -53,16 +78,14 @@ public class AdpAIGatewayOperator extends GatewayOperator {
             throw new BusinessException(ErrorCode.INVALID_PARAMETER, "ADP AI Gateway 配置缺失");
         }
 
-        AdpAIGatewayClient client = new AdpAIGatewayClient(config);
+        AdpAIGatewayClient client = clientRegistry.getAdpClient(config);
         try {
             String url = client.getFullUrl("/mcpServer/listMcpServers");
             // 修复：添加必需的 gwInstanceId 参数
-            String requestBody = String.format(
-                "{\"current\": %d, \"size\": %d, \"gwInstanceId\": \"%s\"}", 
-                page, 
-                size, 
-                gateway.getGatewayId()
-            );
+            JSONObject requestBody = JSONUtil.createObj()
+                    .set("current", page)
+                    .set("size", size)
+                    .set("gwInstanceId", gateway.getGatewayId());
             HttpEntity<String> requestEntity = client.createRequestEntity(requestBody);
 
             ResponseEntity<AdpMcpServerListResult> response = client.getRestTemplate().exchange(
@@ -85,8 +108,6 @@ public class AdpAIGatewayOperator extends GatewayOperator {
         } catch (Exception e) {
             log.error("Error fetching ADP MCP servers", e);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, e.getMessage());
-        } finally {
-            client.close();
         }
     }
 
@@ -108,17 +129,15 @@ public class AdpAIGatewayOperator extends GatewayOperator {
             throw new BusinessException(ErrorCode.INVALID_PARAMETER, "MCP Server 名称缺失");
         }
 
-        AdpAIGatewayClient client = new AdpAIGatewayClient(config);
+        AdpAIGatewayClient client = clientRegistry.getAdpClient(config);
         try {
             String url = client.getFullUrl("/mcpServer/getMcpServer");
             
             // 构建请求体，包含 gwInstanceId 和 mcpServerName
-            String requestBody = String.format(
-                "{\"gwInstanceId\": \"%s\", \"mcpServerName\": \"%s\"}", 
-                gateway.getGatewayId(), 
-                apigRefConfig.getMcpServerName()
-            );
-            
+            JSONObject requestBody = JSONUtil.createObj()
+                    .set("gwInstanceId", gateway.getGatewayId())
+                    .set("mcpServerName", apigRefConfig.getMcpServerName());
+
             HttpEntity<String> requestEntity = client.createRequestEntity(requestBody);
 
             ResponseEntity<AdpMcpServerDetailResult> response = client.getRestTemplate().exchange(
@@ -127,7 +146,7 @@ public class AdpAIGatewayOperator extends GatewayOperator {
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 AdpMcpServerDetailResult result = response.getBody();
                 if (result.getCode() != null && result.getCode() == 200 && result.getData() != null) {
-                    return convertToMCPConfig(result.getData(), config);
+                    return convertToMCPConfig(result.getData(), client);
                 }
                 String msg = result.getMessage() != null ? result.getMessage() : result.getMsg();
                 throw new BusinessException(ErrorCode.GATEWAY_ERROR, msg);
@@ -136,15 +155,13 @@ public class AdpAIGatewayOperator extends GatewayOperator {
         } catch (Exception e) {
             log.error("Error fetching ADP MCP config for server: {}", apigRefConfig.getMcpServerName(), e);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, e.getMessage());
-        } finally {
-            client.close();
         }
     }
 
     /**
      * 将 ADP MCP Server 详情转换为 MCPConfigResult 格式
      */
-    private String convertToMCPConfig(AdpMcpServerDetailResult.AdpMcpServerDetail data, AdpAIGatewayConfig config) {
+    private String convertToMCPConfig(AdpMcpServerDetailResult.AdpMcpServerDetail data, AdpAIGatewayClient client) {
         MCPConfigResult mcpConfig = new MCPConfigResult();
         mcpConfig.setMcpServerName(data.getName());
 
@@ -153,7 +170,7 @@ public class AdpAIGatewayOperator extends GatewayOperator {
         serverConfig.setPath("/" + data.getName());
         
         // 获取网关实例访问信息并设置域名信息
-        List<MCPConfigResult.Domain> domains = getGatewayAccessDomains(data.getGwInstanceId(), config);
+        List<MCPConfigResult.Domain> domains = getGatewayAccessDomains(data.getGwInstanceId(), client);
         if (domains != null && !domains.isEmpty()) {
             serverConfig.setDomains(domains);
         } else {
@@ -183,14 +200,30 @@ public class AdpAIGatewayOperator extends GatewayOperator {
         return JSONUtil.toJsonStr(mcpConfig);
     }
 
+    /**
+     * 获取网关实例的访问域名，结果按gwInstanceId缓存
+     */
+    private List<MCPConfigResult.Domain> getGatewayAccessDomains(String gwInstanceId, AdpAIGatewayClient client) {
+        CachedDomains cached = instanceDomains.get(gwInstanceId);
+        if (cached != null && cached.expireAt > System.currentTimeMillis()) {
+            return cached.domains;
+        }
+
+        List<MCPConfigResult.Domain> domains = fetchGatewayAccessDomains(gwInstanceId, client);
+        // 仅缓存成功结果，失败时下次重新获取
+        if (domains != null) {
+            instanceDomains.put(gwInstanceId, new CachedDomains(domains, System.currentTimeMillis() + INSTANCE_INFO_TTL));
+        }
+        return domains;
+    }
+
     /**
      * 获取网关实例的访问信息并构建域名列表
      */
-    private List<MCPConfigResult.Domain> getGatewayAccessDomains(String gwInstanceId, AdpAIGatewayConfig config) {
-        AdpAIGatewayClient client = new AdpAIGatewayClient(config);
+    private List<MCPConfigResult.Domain> fetchGatewayAccessDomains(String gwInstanceId, AdpAIGatewayClient client) {
         try {
             String url = client.getFullUrl("/gatewayInstance/getInstanceInfo");
-            String requestBody = String.format("{\"gwInstanceId\": \"%s\"}", gwInstanceId);
+            JSONObject requestBody = JSONUtil.createObj().set("gwInstanceId", gwInstanceId);
             HttpEntity<String> requestEntity = client.createRequestEntity(requestBody);
 
             // 注意：getInstanceInfo 返回的 data 是单个实例对象（无 records 字段），直接从 data.accessMode 读取
@@ -219,8 +252,6 @@ public class AdpAIGatewayOperator extends GatewayOperator {
         } catch (Exception e) {
             log.error("Error fetching gateway access info for instance: {}", gwInstanceId, e);
             return null;
-        } finally {
-            client.close();
         }
     }
 
@@ -371,10 +402,12 @@ public class AdpAIGatewayOperator extends GatewayOperator {
             throw new BusinessException(ErrorCode.INVALID_PARAMETER, "不支持的认证类型: " + param.getAuthType());
         }
 
-        AdpAIGatewayClient client = new AdpAIGatewayClient(config);
+        AdpAIGatewayClient client = clientRegistry.getAdpClient(config);
         try {
             String url = client.getFullUrl("/gatewayInstance/listInstances");
-            String requestBody = String.format("{\"current\": %d, \"size\": %d}", page, size);
+            JSONObject requestBody = JSONUtil.createObj()
+                    .set("current", page)
+                    .set("size", size);
             HttpEntity<String> requestEntity = client.createRequestEntity(requestBody);
 
             ResponseEntity<AdpGatewayInstanceResult> response = client.getRestTemplate().exchange(
@@ -392,8 +425,6 @@ public class AdpAIGatewayOperator extends GatewayOperator {
         } catch (Exception e) {
             log.error("Error fetching ADP gateways", e);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, e.getMessage());
-        } finally {
-            client.close();
         }
     }
 
@@ -459,4 +490,12 @@ public class AdpAIGatewayOperator extends GatewayOperator {
             }
         }
     }
+
+    @RequiredArgsConstructor
+    private static class CachedDomains {
+
+        private final List<MCPConfigResult.Domain> domains;
+
+        private final long expireAt;
+    }
 }
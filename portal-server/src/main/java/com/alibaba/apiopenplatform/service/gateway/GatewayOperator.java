@@ -24,21 +24,20 @@ import com.alibaba.apiopenplatform.core.exception.ErrorCode;
 import com.alibaba.apiopenplatform.dto.result.GatewayMCPServerResult;
 import com.alibaba.apiopenplatform.dto.result.*;
 import com.alibaba.apiopenplatform.entity.*;
-import com.alibaba.apiopenplatform.service.gateway.client.APIGClient;
-import com.alibaba.apiopenplatform.service.gateway.client.GatewayClient;
-import com.alibaba.apiopenplatform.service.gateway.client.HigressClient;
+import com.alibaba.apiopenplatform.service.gateway.client.GatewayClientRegistry;
 import com.alibaba.apiopenplatform.support.consumer.ConsumerAuthConfig;
 import com.alibaba.apiopenplatform.support.enums.GatewayType;
 import com.alibaba.apiopenplatform.support.gateway.GatewayConfig;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 @Slf4j
 public abstract class GatewayOperator<T> {
 
-    private final Map<String, GatewayClient> clientCache = new ConcurrentHashMap<>();
+    protected final GatewayClientRegistry clientRegistry;
+
+    protected GatewayOperator(GatewayClientRegistry clientRegistry) {
+        this.clientRegistry = clientRegistry;
+    }
 
     abstract public PageResult<APIResult> fetchHTTPAPIs(Gateway gateway, int page, int size);
 
@@ -75,49 +74,22 @@ public abstract class GatewayOperator<T> {
 
     @SuppressWarnings("unchecked")
     protected T getClient(Gateway gateway) {
-        String clientKey = gateway.getGatewayType().isAPIG() ?
-                gateway.getApigConfig().buildUniqueKey() : gateway.getHigressConfig().buildUniqueKey();
-        return (T) clientCache.computeIfAbsent(
-                clientKey,
-                key -> createClient(gateway)
-        );
-    }
-
-//    @SuppressWarnings("unchecked")
-//    protected T getClient(Gateway gateway) {
-//        String clientKey = gateway.getGatewayType().isAPIG() ?
-//                gateway.getApigConfig().buildUniqueKey() : gateway.getHigressConfig().buildUniqueKey();
-//        return (T) clientCache.computeIfAbsent(
-//                clientKey,
-//                key -> createClient(gateway)
-//        );
-//    }
-
-    /**
-     * 创建网关客户端
-     */
-    private GatewayClient createClient(Gateway gateway) {
         switch (gateway.getGatewayType()) {
             case APIG_API:
             case APIG_AI:
-                return new APIGClient(gateway.getApigConfig());
+                return (T) clientRegistry.getAPIGClient(gateway.getApigConfig());
             case HIGRESS:
-                return new HigressClient(gateway.getHigressConfig());
+                return (T) clientRegistry.getHigressClient(gateway.getHigressConfig());
             default:
                 throw new BusinessException(ErrorCode.INTERNAL_ERROR,
-                        "No factory found for gateway type: " + gateway.getGatewayType());
+                        "No client found for gateway type: " + gateway.getGatewayType());
         }
     }
 
     /**
      * 移除网关客户端
      */
-    public void removeClient(String instanceId) {
-        GatewayClient client = clientCache.remove(instanceId);
-        try {
-            client.close();
-        } catch (Exception e) {
-            log.error("Error closing client for instance: {}", instanceId, e);
-        }
+    public void removeClient(Gateway gateway) {
+        clientRegistry.evict(gateway);
     }
 }
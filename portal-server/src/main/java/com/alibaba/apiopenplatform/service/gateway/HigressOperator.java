@@ -25,6 +25,7 @@ import com.alibaba.apiopenplatform.dto.result.*;
 import com.alibaba.apiopenplatform.entity.Gateway;
 import com.alibaba.apiopenplatform.entity.Consumer;
 import com.alibaba.apiopenplatform.entity.ConsumerCredential;
+import com.alibaba.apiopenplatform.service.gateway.client.GatewayClientRegistry;
 import com.alibaba.apiopenplatform.service.gateway.client.HigressClient;
 import com.alibaba.apiopenplatform.support.consumer.ApiKeyConfig;
 import com.alibaba.apiopenplatform.support.consumer.ConsumerAuthConfig;
@@ -51,6 +52,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class HigressOperator extends GatewayOperator<HigressClient> {
 
+    public HigressOperator(GatewayClientRegistry clientRegistry) {
+        super(clientRegistry);
+    }
+
     @Override
     public PageResult<APIResult> fetchHTTPAPIs(Gateway gateway, int page, int size) {
         throw new UnsupportedOperationException("Higress gateway does not support HTTP APIs");
@@ -136,7 +141,7 @@ public class HigressOperator extends GatewayOperator<HigressClient> {
     @Override
     public String createConsumer(Consumer consumer, ConsumerCredential credential, GatewayConfig config) {
         HigressConfig higressConfig = config.getHigressConfig();
-        HigressClient client = new HigressClient(higressConfig);
+        HigressClient client = clientRegistry.getHigressClient(higressConfig);
 
         client.execute("/v1/consumers",
                 HttpMethod.POST,
@@ -150,7 +155,7 @@ public class HigressOperator extends GatewayOperator<HigressClient> {
     @Override
     public void updateConsumer(String consumerId, ConsumerCredential credential, GatewayConfig config) {
         HigressConfig higressConfig = config.getHigressConfig();
-        HigressClient client = new HigressClient(higressConfig);
+        HigressClient client = clientRegistry.getHigressClient(higressConfig);
 
         client.execute("/v1/consumers/" + consumerId,
                 HttpMethod.PUT,
@@ -162,7 +167,7 @@ public class HigressOperator extends GatewayOperator<HigressClient> {
     @Override
     public void deleteConsumer(String consumerId, GatewayConfig config) {
         HigressConfig higressConfig = config.getHigressConfig();
-        HigressClient client = new HigressClient(higressConfig);
+        HigressClient client = clientRegistry.getHigressClient(higressConfig);
 
         client.execute("/v1/consumers/" + consumerId,
                 HttpMethod.DELETE,
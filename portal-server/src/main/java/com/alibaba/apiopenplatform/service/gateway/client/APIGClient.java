@@ -35,8 +35,8 @@ public class APIGClient extends GatewayClient {
 
     private final AsyncClient apigClient;
 
-    public APIGClient(APIGConfig config) {
-        this.apigClient = createClient(config);
+    public APIGClient(APIGConfig config, String endpoint) {
+        this.apigClient = createClient(config, endpoint);
     }
 
     @Override
@@ -55,7 +55,7 @@ public class APIGClient extends GatewayClient {
         }
     }
 
-    private AsyncClient createClient(APIGConfig config) {
+    private AsyncClient createClient(APIGConfig config, String endpoint) {
         // noinspection AklessInspection
         StaticCredentialProvider provider = StaticCredentialProvider.create(Credential.builder()
                 .accessKeyId(config.getAccessKey())
@@ -66,7 +66,7 @@ public class APIGClient extends GatewayClient {
                 .credentialsProvider(provider)
                 .overrideConfiguration(
                         ClientOverrideConfiguration.create()
-                                .setEndpointOverride(getAPIGEndpoint(config.getRegion()))
+                                .setEndpointOverride(endpoint)
                 ).build();
     }
 
@@ -1,6 +1,7 @@
 package com.alibaba.apiopenplatform.service.gateway.client;
 
 import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONUtil;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
 import com.alibaba.apiopenplatform.support.gateway.AdpAIGatewayConfig;
@@ -21,11 +22,11 @@ import java.util.function.Function;
 public class AdpAIGatewayClient extends GatewayClient {
 
     private final AdpAIGatewayConfig config;
-    private final RestTemplate restTemplate;  // HTTP客户端
+    private final RestTemplate restTemplate;  // HTTP客户端，连接池由HttpTransport统一管理
 
-    public AdpAIGatewayClient(AdpAIGatewayConfig config) {
+    public AdpAIGatewayClient(AdpAIGatewayConfig config, RestTemplate restTemplate) {
         this.config = config;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = restTemplate;
     }
 
     // 统一使用 HTTP 调用 ADP AI 网关，不再包含 SDK 模式逻辑
@@ -46,14 +47,14 @@ public class AdpAIGatewayClient extends GatewayClient {
     }
 
     /**
-     * 构建带必需鉴权头的请求实体
+     * 构建带必需鉴权头的请求实体，请求体序列化为JSON
      */
-    public HttpEntity<String> createRequestEntity(String body) {
+    public HttpEntity<String> createRequestEntity(Object body) {
         HttpHeaders headers = buildAuthHeaders();
         if (body == null) {
             return new HttpEntity<>(headers);
         }
-        return new HttpEntity<>(body, headers);
+        return new HttpEntity<>(JSONUtil.toJsonStr(body), headers);
     }
 
     /**
@@ -129,9 +130,4 @@ public class AdpAIGatewayClient extends GatewayClient {
     public RestTemplate getRestTemplate() {
         return restTemplate;
     }
-
-    @Override
-    public void close() {
-        // RestTemplate 不需要手动关闭
-    }
 }
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.service.gateway.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 云服务endpoint选择
+ * <p>
+ * 每组候选endpoint按优先级排列（内网在前、公网在后），后台定时探测连通性与建连耗时，
+ * 调用方只读取当前选择，不在请求线程上探测。每组候选首次访问时等待第一轮探测完成（最长为各候选探测超时之和），
+ * 仅VPC可达的部署在启动后即可使用内网endpoint。
+ * 当前endpoint连续多次探测失败才切换到下一个可用候选，避免偶发失败导致来回切换；高优先级候选探测成功后切回。
+ */
+@Component
+@Slf4j
+public class EndpointSelector {
+
+    private static final int HTTPS_PORT = 443;
+
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    private final int probeTimeoutMillis;
+
+    /**
+     * 连续失败达到该次数才判定不可用
+     */
+    private final int failureThreshold;
+
+    private final LongAdder probes = new LongAdder();
+
+    private final LongAdder probeFailures = new LongAdder();
+
+    private final LongAdder switches = new LongAdder();
+
+    public EndpointSelector(@Value("${gateway.endpoint.probe-timeout:1000}") int probeTimeoutMillis,
+                            @Value("${gateway.endpoint.probe-threads:2}") int threads,
+                            @Value("${gateway.endpoint.failure-threshold:3}") int failureThreshold) {
+        this.probeTimeoutMillis = probeTimeoutMillis;
+        this.failureThreshold = failureThreshold;
+        AtomicInteger index = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "EndpointProber-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public String apigEndpoint(String region) {
+        return select(String.format("apig-vpc.%s.aliyuncs.com", region),
+                String.format("apig.%s.aliyuncs.com", region));
+    }
+
+    public String slsEndpoint(String region) {
+        return select(String.format("%s-intranet.log.aliyuncs.com", region),
+                String.format("%s.log.aliyuncs.com", region));
+    }
+
+    /**
+     * 返回候选中当前最优的endpoint，只在该组候选的第一轮探测完成前阻塞
+     *
+     * @param candidates 按优先级排列的候选endpoint，最后一个作为兜底
+     */
+    public String select(String... candidates) {
+        Target target = targets.get(String.join(",", candidates));
+        if (target == null) {
+            target = targets.computeIfAbsent(String.join(",", candidates), k -> {
+                Target t = new Target(candidates);
+                executor.execute(() -> probe(t));
+                return t;
+            });
+        }
+        if (target.firstProbe.getCount() > 0) {
+            try {
+                target.firstProbe.await((long) probeTimeoutMillis * candidates.length, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return target.current;
+    }
+
+    @Scheduled(initialDelayString = "${gateway.endpoint.probe-interval:30000}",
+            fixedDelayString = "${gateway.endpoint.probe-interval:30000}")
+    public void probeAll() {
+        for (Target target : targets.values()) {
+            executor.execute(() -> probe(target));
+        }
+    }
+
+    /**
+     * 各endpoint最近一次探测结果
+     */
+    public Map<String, EndpointState> getEndpointStates() {
+        Map<String, EndpointState> states = new LinkedHashMap<>();
+        for (Target target : targets.values()) {
+            for (int i = 0; i < target.candidates.length; i++) {
+                if (target.states[i] != null) {
+                    states.put(target.candidates[i], target.states[i]);
+                }
+            }
+        }
+        return states;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getProbeFailures() {
+        return probeFailures.sum();
+    }
+
+    public long getSwitches() {
+        return switches.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void probe(Target target) {
+        // 同一组候选同时只有一个探测任务
+        if (!target.probing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            String selected = null;
+            for (int i = 0; i < target.candidates.length; i++) {
+                EndpointState state = connect(target.candidates[i]);
+                target.states[i] = state;
+                if (state.isHealthy()) {
+                    target.failures[i] = 0;
+                    target.available[i] = true;
+                } else if (++target.failures[i] >= failureThreshold) {
+                    target.available[i] = false;
+                }
+                if (selected == null && target.available[i]) {
+                    selected = target.candidates[i];
+                }
+            }
+            // 全部不可用时保持当前选择
+            if (selected != null && !selected.equals(target.current)) {
+                log.info("Switch endpoint from {} to {}", target.current, selected);
+                target.current = selected;
+                switches.increment();
+            }
+        } finally {
+            target.probing.set(false);
+            target.firstProbe.countDown();
+        }
+    }
+
+    private EndpointState connect(String endpoint) {
+        probes.increment();
+        long start = System.currentTimeMillis();
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(endpoint, HTTPS_PORT), probeTimeoutMillis);
+            return new EndpointState(true, System.currentTimeMillis() - start, start);
+        } catch (Exception e) {
+            probeFailures.increment();
+            log.debug("Endpoint {} unreachable: {}", endpoint, e.getMessage());
+            return new EndpointState(false, -1, start);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EndpointState {
+
+        private final boolean healthy;
+
+        /**
+         * 建连耗时（毫秒），不可达时为-1
+         */
+        private final long latencyMillis;
+
+        private final long checkedAt;
+    }
+
+    private static class Target {
+
+        private final String[] candidates;
+
+        private final EndpointState[] states;
+
+        /**
+         * 各候选的连续失败次数，只在探测任务中修改
+         */
+        private final int[] failures;
+
+        /**
+         * 各候选是否可用：探测成功后可用，连续失败达到阈值后不可用
+         */
+        private final boolean[] available;
+
+        private final AtomicBoolean probing = new AtomicBoolean();
+
+        private final CountDownLatch firstProbe = new CountDownLatch(1);
+
+        /**
+         * 第一轮探测超时或全部不可达时使用兜底endpoint
+         */
+        private volatile String current;
+
+        Target(String[] candidates) {
+            this.candidates = candidates;
+            this.states = new EndpointState[candidates.length];
+            this.failures = new int[candidates.length];
+            this.available = new boolean[candidates.length];
+            this.current = candidates[candidates.length - 1];
+        }
+    }
+}
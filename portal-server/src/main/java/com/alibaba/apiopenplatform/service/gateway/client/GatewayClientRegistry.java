@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.service.gateway.client;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.alibaba.apiopenplatform.core.http.HttpTransport;
+import com.alibaba.apiopenplatform.entity.Gateway;
+import cn.hutool.json.JSONUtil;
+import com.alibaba.apiopenplatform.support.gateway.APIGConfig;
+import com.alibaba.apiopenplatform.support.gateway.AdpAIGatewayConfig;
+import com.alibaba.apiopenplatform.support.gateway.HigressConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 网关客户端注册表
+ * <p>
+ * 按网关配置指纹（凭证摘要，不含明文）复用客户端，同一套AK/SK与地域、同一Higress或ADP地址与账号共享一个客户端。
+ * 阿里云客户端的endpoint由{@link EndpointSelector}给出，选择变化时重建客户端。
+ * 网关删除、空闲超时时移除客户端。客户端可能被其他网关共享或刚被取出使用，
+ * 移除和替换后延迟一段时间再关闭，进行中的调用可以正常完成，之后的调用会创建新客户端。
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GatewayClientRegistry {
+
+    private static final String APIG_PREFIX = "apig:";
+
+    private static final String POP_PREFIX = "pop:";
+
+    private static final String HIGRESS_PREFIX = "higress:";
+
+    private static final String ADP_PREFIX = "adp:";
+
+    private static final String SLS_PREFIX = "sls:";
+
+    private static final String SLS_TICKET_PREFIX = "sls-ticket:";
+
+    /**
+     * SLS控制台Ticket接口只在上海地域提供
+     */
+    private static final String SLS_TICKET_REGION = "cn-shanghai";
+
+    private final EndpointSelector endpointSelector;
+
+    private final HttpTransport httpTransport;
+
+    private final Map<String, Entry> clients = new ConcurrentHashMap<>();
+
+    @Value("${gateway.client.idle-timeout:600000}")
+    private long idleTimeoutMillis;
+
+    /**
+     * 移除后延迟关闭的时间，需大于单次调用的超时时间
+     */
+    @Value("${gateway.client.close-delay:60000}")
+    private long closeDelayMillis;
+
+    private final ScheduledExecutorService closer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "GatewayClientCloser");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder creations = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public APIGClient getAPIGClient(APIGConfig config) {
+        String endpoint = endpointSelector.apigEndpoint(config.getRegion());
+        return get(APIG_PREFIX + fingerprint(config), endpoint, () -> new APIGClient(config, endpoint));
+    }
+
+    public PopGatewayClient getPopClient(APIGConfig config) {
+        String endpoint = endpointSelector.apigEndpoint(config.getRegion());
+        return get(POP_PREFIX + fingerprint(config), endpoint, () -> new PopGatewayClient(config, endpoint));
+    }
+
+    public SLSClient getSLSClient(APIGConfig config) {
+        String endpoint = endpointSelector.slsEndpoint(config.getRegion());
+        return get(SLS_PREFIX + fingerprint(config), endpoint, () -> new SLSClient(config, config.getRegion(), endpoint));
+    }
+
+    public SLSClient getSLSTicketClient(APIGConfig config) {
+        String endpoint = endpointSelector.slsEndpoint(SLS_TICKET_REGION);
+        return get(SLS_TICKET_PREFIX + fingerprint(config), endpoint, () -> new SLSClient(config, SLS_TICKET_REGION, endpoint));
+    }
+
+    public HigressClient getHigressClient(HigressConfig config) {
+        return get(HIGRESS_PREFIX + fingerprint(config), config.getAddress(), () -> new HigressClient(config, httpTransport.restTemplate("higress")));
+    }
+
+    public AdpAIGatewayClient getAdpClient(AdpAIGatewayConfig config) {
+        return get(ADP_PREFIX + fingerprint(config), config.getBaseUrl() + ":" + config.getPort(),
+                () -> new AdpAIGatewayClient(config, httpTransport.restTemplate("adp")));
+    }
+
+    /**
+     * 关闭并移除网关配置对应的客户端
+     */
+    public void evict(Gateway gateway) {
+        if (gateway.getApigConfig() != null) {
+            String fingerprint = fingerprint(gateway.getApigConfig());
+            remove(APIG_PREFIX + fingerprint);
+            remove(POP_PREFIX + fingerprint);
+            remove(SLS_PREFIX + fingerprint);
+            remove(SLS_TICKET_PREFIX + fingerprint);
+        }
+        if (gateway.getHigressConfig() != null) {
+            remove(HIGRESS_PREFIX + fingerprint(gateway.getHigressConfig()));
+        }
+        if (gateway.getAdpAIGatewayConfig() != null) {
+            remove(ADP_PREFIX + fingerprint(gateway.getAdpAIGatewayConfig()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.client.evict-interval:60000}")
+    public void evictIdle() {
+        long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<Map.Entry<String, Entry>> it = clients.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            if (e.getValue().lastAccess < deadline && clients.remove(e.getKey(), e.getValue())) {
+                closeLater(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    public int getSize() {
+        return clients.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getCreations() {
+        return creations.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 等待关闭的客户端立即关闭
+        closer.shutdownNow().forEach(Runnable::run);
+        clients.forEach(this::close);
+        clients.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends GatewayClient> T get(String key, String endpoint, Supplier<T> factory) {
+        Entry entry = clients.get(key);
+        if (entry != null && entry.endpoint.equals(endpoint)) {
+            hits.increment();
+            entry.lastAccess = System.currentTimeMillis();
+            return (T) entry.client;
+        }
+
+        entry = clients.compute(key, (k, existing) -> {
+            if (existing != null && existing.endpoint.equals(endpoint)) {
+                return existing;
+            }
+            // endpoint切换，替换旧客户端
+            if (existing != null) {
+                closeLater(k, existing);
+            }
+            creations.increment();
+            return new Entry(endpoint, factory.get());
+        });
+        entry.lastAccess = System.currentTimeMillis();
+        return (T) entry.client;
+    }
+
+    private void remove(String key) {
+        Entry entry = clients.remove(key);
+        if (entry != null) {
+            closeLater(key, entry);
+        }
+    }
+
+    private void closeLater(String key, Entry entry) {
+        evictions.increment();
+        scheduleClose(key, entry);
+    }
+
+    /**
+     * 移除前刚被取出的客户端可能仍有调用进行中，最近一次访问后满一个延迟周期才关闭
+     */
+    private void scheduleClose(String key, Entry entry) {
+        try {
+            closer.schedule(() -> {
+                if (System.currentTimeMillis() - entry.lastAccess < closeDelayMillis) {
+                    scheduleClose(key, entry);
+                } else {
+                    close(key, entry);
+                }
+            }, closeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 应用关闭中
+            close(key, entry);
+        }
+    }
+
+    private void close(String key, Entry entry) {
+        try {
+            entry.client.close();
+        } catch (Exception e) {
+            log.warn("Failed to close gateway client {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String fingerprint(APIGConfig config) {
+        return DigestUtil.sha256Hex(StrUtil.join("|", config.getAccessKey(), config.getSecretKey(), config.getRegion()));
+    }
+
+    private static String fingerprint(HigressConfig config) {
+        return DigestUtil.sha256Hex(StrUtil.join("|", config.getAddress(), config.getUsername(), config.getPassword()));
+    }
+
+    private static String fingerprint(AdpAIGatewayConfig config) {
+        return DigestUtil.sha256Hex(StrUtil.join("|", config.getBaseUrl(), config.getPort(),
+                config.getAuthSeed(), JSONUtil.toJsonStr(config.getAuthHeaders())));
+    }
+
+    private static class Entry {
+
+        private final String endpoint;
+
+        private final GatewayClient client;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(String endpoint, GatewayClient client) {
+            this.endpoint = endpoint;
+            this.client = client;
+        }
+    }
+}
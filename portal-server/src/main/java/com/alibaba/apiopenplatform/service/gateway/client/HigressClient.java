@@ -19,10 +19,8 @@
 
 package com.alibaba.apiopenplatform.service.gateway.client;
 
-import cn.hutool.core.map.MapBuilder;
 import cn.hutool.json.JSONUtil;
 import com.alibaba.apiopenplatform.service.gateway.HigressOperator;
-import com.alibaba.apiopenplatform.service.gateway.factory.HTTPClientFactory;
 import com.alibaba.apiopenplatform.support.gateway.HigressConfig;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -31,7 +29,6 @@ import org.springframework.http.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -41,12 +38,12 @@ public class HigressClient extends GatewayClient {
 
     private final RestTemplate restTemplate;
     private final HigressConfig config;
-    private String higressToken;
-    private final ThreadLocal<Boolean> isRetrying = new ThreadLocal<>();
+    private final HigressSession session;
 
-    public HigressClient(HigressConfig higressConfig) {
+    public HigressClient(HigressConfig higressConfig, RestTemplate restTemplate) {
         this.config = higressConfig;
-        this.restTemplate = HTTPClientFactory.createRestTemplate();
+        this.restTemplate = restTemplate;
+        this.session = new HigressSession(higressConfig, restTemplate, buildUrl("/session/login"));
     }
 
     public <T, R> T execute(String path,
@@ -72,11 +69,7 @@ public class HigressClient extends GatewayClient {
                             Map<String, String> queryParams,
                             R body,
                             ParameterizedTypeReference<T> responseType) {
-        try {
-            return doExecute(path, method, headers, queryParams, body, responseType);
-        } finally {
-            isRetrying.remove();
-        }
+        return doExecute(path, method, headers, queryParams, body, responseType, false);
     }
 
     private <T, R> T doExecute(String path,
@@ -84,9 +77,11 @@ public class HigressClient extends GatewayClient {
                                HttpHeaders headers,
                                Map<String, String> queryParams,
                                R body,
-                               ParameterizedTypeReference<T> responseType) {
+                               ParameterizedTypeReference<T> responseType,
+                               boolean retried) {
+        String token = null;
         try {
-            ensureConsoleToken();
+            token = session.token();
 
             // 构建URL
             String url = buildUrlWithParams(path, queryParams);
@@ -96,7 +91,7 @@ public class HigressClient extends GatewayClient {
             if (headers != null) {
                 mergedHeaders.putAll(headers);
             }
-            mergedHeaders.add("Cookie", HIGRESS_COOKIE_NAME + "=" + higressToken);
+            mergedHeaders.add("Cookie", HIGRESS_COOKIE_NAME + "=" + token);
 
             ResponseEntity<T> response = restTemplate.exchange(
                     url,
@@ -111,12 +106,10 @@ public class HigressClient extends GatewayClient {
             return response.getBody();
         } catch (HttpClientErrorException e) {
             // 401重新登录，且只重试一次
-            if (e.getStatusCode() == HttpStatus.UNAUTHORIZED
-                    && !Boolean.TRUE.equals(isRetrying.get())) {
+            if (e.getStatusCode() == HttpStatus.UNAUTHORIZED && token != null && !retried) {
                 log.warn("Token expired, trying to relogin");
-                higressToken = null;
-                isRetrying.set(true);
-                return doExecute(path, method, headers, queryParams, body, responseType);
+                session.invalidate(token);
+                return doExecute(path, method, headers, queryParams, body, responseType, true);
             }
             log.error("HTTP error executing Higress request: status={}, body={}",
                     e.getStatusCode(), e.getResponseBodyAsString());
@@ -151,57 +144,13 @@ public class HigressClient extends GatewayClient {
         return baseUrl + path;
     }
 
-    private void ensureConsoleToken() {
-        if (higressToken == null) {
-            login();
-        }
-    }
-
-    private void login() {
-        Map<Object, Object> loginParam = MapBuilder.create()
-                .put("username", config.getUsername())
-                .put("password", config.getPassword())
-                .build();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        ResponseEntity<String> response = restTemplate.exchange(
-                buildUrl("/session/login"),
-                HttpMethod.POST,
-                new HttpEntity<>(loginParam, headers),
-                String.class
-        );
-
-        List<String> cookies = response.getHeaders().get("Set-Cookie");
-        if (cookies == null || cookies.isEmpty()) {
-            throw new RuntimeException("No cookies received from server");
-        }
-
-        this.higressToken = cookies.stream()
-                .filter(cookie -> cookie.startsWith(HIGRESS_COOKIE_NAME + "="))
-                .findFirst()
-                .map(cookie -> {
-                    int endIndex = cookie.indexOf(';');
-                    return endIndex == -1
-                            ? cookie.substring(HIGRESS_COOKIE_NAME.length() + 1)
-                            : cookie.substring(HIGRESS_COOKIE_NAME.length() + 1, endIndex);
-                })
-                .orElseThrow(() -> new RuntimeException("Failed to get Higress session token"));
-    }
-
-    @Override
-    public void close() {
-        HTTPClientFactory.closeClient(restTemplate);
-    }
-
     public static void main(String[] args) {
         HigressConfig higressConfig = new HigressConfig();
         higressConfig.setAddress("http://demo.higress.io");
         higressConfig.setUsername("admin");
         higressConfig.setPassword("admin");
 
-        HigressClient higressClient = new HigressClient(higressConfig);
+        HigressClient higressClient = new HigressClient(higressConfig, new RestTemplate());
 //        Object  mcpServerInfo = higressClient.execute("/v1/mcpServer", HttpMethod.GET, null, null, new ParameterizedTypeReference<Object>() {
 //        });
 
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.service.gateway.client;
+
+import cn.hutool.core.map.MapBuilder;
+import com.alibaba.apiopenplatform.support.gateway.HigressConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.HttpCookie;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Higress控制台会话
+ * <p>
+ * 同一Higress实例的所有线程共享一个登录会话。临近过期时由一个线程提前续登，其余线程继续使用当前Token；
+ * Token缺失或失效时并发请求只触发一次登录。
+ */
+@Slf4j
+public class HigressSession {
+
+    private static final String COOKIE_NAME = "_hi_sess";
+
+    /**
+     * Cookie未声明有效期时的默认会话时长
+     */
+    private static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * 过期前多久开始续登
+     */
+    private static final long RENEW_AHEAD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final HigressConfig config;
+
+    private final RestTemplate restTemplate;
+
+    private final String loginUrl;
+
+    private final ReentrantLock loginLock = new ReentrantLock();
+
+    private volatile Token current;
+
+    public HigressSession(HigressConfig config, RestTemplate restTemplate, String loginUrl) {
+        this.config = config;
+        this.restTemplate = restTemplate;
+        this.loginUrl = loginUrl;
+    }
+
+    /**
+     * 获取当前会话Token，必要时登录
+     */
+    public String token() {
+        Token token = current;
+        long now = System.currentTimeMillis();
+        if (token != null && now < token.renewAt) {
+            return token.value;
+        }
+
+        // 续登窗口内：抢到锁的线程续登，其余线程沿用未过期的Token
+        // current可能被并发invalidate置空，只返回本线程读到或续登得到的Token
+        if (token != null && now < token.expireAt) {
+            Token renewed = null;
+            if (loginLock.tryLock()) {
+                try {
+                    if (current == token) {
+                        renewed = renew(token);
+                    }
+                } finally {
+                    loginLock.unlock();
+                }
+            }
+            return renewed != null ? renewed.value : token.value;
+        }
+
+        loginLock.lock();
+        try {
+            // 其他线程可能已完成登录
+            token = current;
+            if (token == null || System.currentTimeMillis() >= token.expireAt) {
+                token = login();
+                current = token;
+            }
+            return token.value;
+        } finally {
+            loginLock.unlock();
+        }
+    }
+
+    /**
+     * 服务端拒绝Token时使其失效，仅当Token仍是当前值时生效，避免重复登录
+     */
+    public void invalidate(String value) {
+        Token token = current;
+        if (token != null && token.value.equals(value)) {
+            loginLock.lock();
+            try {
+                if (current == token) {
+                    current = null;
+                }
+            } finally {
+                loginLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 续登，失败时返回null
+     */
+    private Token renew(Token token) {
+        try {
+            Token renewed = login();
+            current = renewed;
+            return renewed;
+        } catch (Exception e) {
+            // 续登失败不影响当前Token，下次访问再试
+            log.warn("Failed to renew Higress session for {}, token expires in {}ms: {}",
+                    config.getAddress(), token.expireAt - System.currentTimeMillis(), e.getMessage());
+            return null;
+        }
+    }
+
+    private Token login() {
+        Map<Object, Object> loginParam = MapBuilder.create()
+                .put("username", config.getUsername())
+                .put("password", config.getPassword())
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                loginUrl,
+                HttpMethod.POST,
+                new HttpEntity<>(loginParam, headers),
+                String.class
+        );
+
+        List<String> cookies = response.getHeaders().get(HttpHeaders.SET_COOKIE);
+        if (cookies == null || cookies.isEmpty()) {
+            throw new RuntimeException("No cookies received from server");
+        }
+
+        for (String header : cookies) {
+            for (HttpCookie cookie : HttpCookie.parse(header)) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    long ttl = cookie.getMaxAge() > 0 ? TimeUnit.SECONDS.toMillis(cookie.getMaxAge()) : DEFAULT_TTL_MILLIS;
+                    log.debug("Logged in to Higress console {}, session ttl {}ms", config.getAddress(), ttl);
+                    return new Token(cookie.getValue(), System.currentTimeMillis(), ttl);
+                }
+            }
+        }
+        throw new RuntimeException("Failed to get Higress session token");
+    }
+
+    private static class Token {
+
+        private final String value;
+
+        private final long renewAt;
+
+        private final long expireAt;
+
+        Token(String value, long issuedAt, long ttl) {
+            this.value = value;
+            this.expireAt = issuedAt + ttl;
+            // 短会话时至少保留一半时长再续登
+            this.renewAt = expireAt - Math.min(RENEW_AHEAD_MILLIS, ttl / 2);
+        }
+    }
+}
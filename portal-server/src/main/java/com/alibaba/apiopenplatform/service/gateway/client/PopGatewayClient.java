@@ -23,12 +23,12 @@ import java.util.function.Function;
 @Slf4j
 public class PopGatewayClient extends GatewayClient {
 
-    private final APIGConfig config;
+    private final String endpoint;
 
     private final IAcsClient client;
 
-    public PopGatewayClient(APIGConfig config) {
-        this.config = config;
+    public PopGatewayClient(APIGConfig config, String endpoint) {
+        this.endpoint = endpoint;
         this.client = createClient(config);
     }
 
@@ -51,7 +51,7 @@ public class PopGatewayClient extends GatewayClient {
         // CommonRequest
         CommonRequest request = new CommonRequest();
         request.setSysProtocol(ProtocolType.HTTPS);
-        request.setSysDomain(getAPIGEndpoint(config.getRegion()));
+        request.setSysDomain(endpoint);
         request.setSysVersion("2024-03-27");
         request.setSysUriPattern(uri);
         request.setSysMethod(methodType);
@@ -12,17 +12,14 @@ import com.alibaba.apiopenplatform.core.exception.ErrorCode;
 import java.util.function.Function;
 
 @Slf4j
-public class SLSClient {
+public class SLSClient extends GatewayClient {
     private final AsyncClient slsClient;
 
-    public SLSClient(APIGConfig config,boolean forTicket) {
-        if (forTicket) {
-            this.slsClient = createTicketClient(config);
-        } else {
-            this.slsClient = createClient(config);
-        }
+    public SLSClient(APIGConfig config, String region, String endpoint) {
+        this.slsClient = createClient(config, region, endpoint);
     }
 
+    @Override
     public void close() {
         if (slsClient != null) {
             slsClient.close();
@@ -38,32 +35,18 @@ public class SLSClient {
         }
     }
 
-    private AsyncClient createClient(APIGConfig config) {
+    private AsyncClient createClient(APIGConfig config, String region, String endpoint) {
         // noinspection AklessInspection
         StaticCredentialProvider provider = StaticCredentialProvider.create(Credential.builder()
                 .accessKeyId(config.getAccessKey())
                 .accessKeySecret(config.getSecretKey())
                 .build());
-        String endpoint = String.format("%s.log.aliyuncs.com", config.getRegion());
         return AsyncClient.builder()
-                .region(config.getRegion())
+                .region(region)
                 .credentialsProvider(provider)
                 .overrideConfiguration(
                         ClientOverrideConfiguration.create()
                                 .setEndpointOverride(endpoint)
                 ).build();
     }
-    private AsyncClient createTicketClient(APIGConfig config) {
-        StaticCredentialProvider provider = StaticCredentialProvider.create(Credential.builder()
-                .accessKeyId(config.getAccessKey())
-                .accessKeySecret(config.getSecretKey())
-                .build());
-        return AsyncClient.builder()
-                .region("cn-shanghai")
-                .credentialsProvider(provider)
-                .overrideConfiguration(
-                        ClientOverrideConfiguration.create()
-                                .setEndpointOverride("cn-shanghai.log.aliyuncs.com")
-                ).build();
-    }
 }
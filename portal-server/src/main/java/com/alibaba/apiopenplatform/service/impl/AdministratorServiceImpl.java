@@ -22,6 +22,7 @@ package com.alibaba.apiopenplatform.service.impl;
 import cn.hutool.core.util.StrUtil;
 import com.alibaba.apiopenplatform.core.constant.Resources;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
+import com.alibaba.apiopenplatform.core.security.PasswordHashExecutor;
 import com.alibaba.apiopenplatform.core.utils.TokenUtil;
 import com.alibaba.apiopenplatform.dto.result.AdminResult;
 import com.alibaba.apiopenplatform.dto.result.AuthResult;
@@ -45,12 +46,14 @@ public class AdministratorServiceImpl implements AdministratorService {
 
     private final ContextHolder contextHolder;
 
+    private final PasswordHashExecutor passwordHashExecutor;
+
     @Override
     public AuthResult login(String username, String password) {
         Administrator admin = administratorRepository.findByUsername(username)
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.ADMINISTRATOR, username));
 
-        if (!PasswordHasher.verify(password, admin.getPasswordHash())) {
+        if (!passwordHashExecutor.verify(password, admin.getPasswordHash())) {
             throw new BusinessException(ErrorCode.UNAUTHORIZED, "用户名或密码错误");
         }
 
@@ -68,7 +71,7 @@ public class AdministratorServiceImpl implements AdministratorService {
         Administrator admin = Administrator.builder()
                 .adminId(generateAdminId())
                 .username(username)
-                .passwordHash(PasswordHasher.hash(password))
+                .passwordHash(passwordHashExecutor.hash(password, PasswordHasher.DEFAULT_COST))
                 .build();
         administratorRepository.save(admin);
         return new AdminResult().convertFrom(admin);
@@ -85,11 +88,11 @@ public class AdministratorServiceImpl implements AdministratorService {
     public void resetPassword(String oldPassword, String newPassword) {
         Administrator admin = findAdministrator(contextHolder.getUser());
 
-        if (!PasswordHasher.verify(oldPassword, admin.getPasswordHash())) {
+        if (!passwordHashExecutor.verify(oldPassword, admin.getPasswordHash())) {
             throw new BusinessException(ErrorCode.UNAUTHORIZED, "用户名或密码错误");
         }
 
-        admin.setPasswordHash(PasswordHasher.hash(newPassword));
+        admin.setPasswordHash(passwordHashExecutor.hash(newPassword, PasswordHasher.DEFAULT_COST));
         administratorRepository.save(admin);
     }
 
@@ -27,6 +27,7 @@ import com.alibaba.apiopenplatform.core.event.DeveloperDeletingEvent;
 import com.alibaba.apiopenplatform.core.event.ProductDeletingEvent;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.core.search.ProductSearchIndex;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
 import com.alibaba.apiopenplatform.core.utils.IdGenerator;
 import com.alibaba.apiopenplatform.dto.params.consumer.QueryConsumerParam;
@@ -78,6 +79,11 @@ import com.alibaba.apiopenplatform.repository.ConsumerRefRepository;
 @Slf4j
 public class ConsumerServiceImpl implements ConsumerService {
 
+    /**
+     * 产品名称命中数超过该值时回退到子查询，避免过长的IN列表
+     */
+    private static final int MAX_PRODUCT_NAME_IDS = 1000;
+
     private final PortalService portalService;
 
     private final ConsumerRepository consumerRepository;
@@ -92,11 +98,13 @@ public class ConsumerServiceImpl implements ConsumerService {
 
     private final ProductService productService;
 
+    private final ProductSearchIndex productSearchIndex;
+
     private final ConsumerRefRepository consumerRefRepository;
 
     @Override
     public ConsumerResult createConsumer(CreateConsumerParam param) {
-        PortalResult portal = portalService.getPortal(contextHolder.getPortal());
+        PortalResult portal = portalService.getCurrentPortal();
 
         String consumerId = IdGenerator.genConsumerId();
         Consumer consumer = param.convertTo();
@@ -115,7 +123,7 @@ public class ConsumerServiceImpl implements ConsumerService {
 
     @Override
     public PageResult<ConsumerResult> listConsumers(QueryConsumerParam param, Pageable pageable) {
-        Page<Consumer> consumers = consumerRepository.findAll(buildConsumerSpec(param), pageable);
+        Page<Consumer> consumers = consumerRepository.findSummaries(buildConsumerSpec(param), pageable);
 
         return new PageResult<ConsumerResult>().convertFrom(consumers, consumer -> new ConsumerResult().convertFrom(consumer));
     }
@@ -248,8 +256,8 @@ public class ConsumerServiceImpl implements ConsumerService {
             log.info("使用产品级别自动审批配置: productId={}, autoApprove={}", param.getProductId(), autoApprove);
         } else {
             // 如果产品未配置autoApprove，则使用平台级别的配置
-            PortalResult portal = portalService.getPortal(consumer.getPortalId());
-            log.info("portal: {}", JSONUtil.toJsonStr(portal));
+            PortalResult portal = StrUtil.equals(consumer.getPortalId(), contextHolder.getPortal()) ?
+                    portalService.getCurrentPortal() : portalService.getPortal(consumer.getPortalId());
             autoApprove = portal.getPortalSettingConfig() != null
                     && BooleanUtil.isTrue(portal.getPortalSettingConfig().getAutoApproveSubscriptions());
             log.info("使用平台级别自动审批配置: portalId={}, autoApprove={}", consumer.getPortalId(), autoApprove);
@@ -303,7 +311,7 @@ public class ConsumerServiceImpl implements ConsumerService {
     public PageResult<SubscriptionResult> listSubscriptions(String consumerId, QuerySubscriptionParam param, Pageable pageable) {
         existsConsumer(consumerId);
 
-        Page<ProductSubscription> subscriptions = subscriptionRepository.findAll(buildCredentialSpec(consumerId, param), pageable);
+        Page<ProductSubscription> subscriptions = subscriptionRepository.findSummaries(buildCredentialSpec(consumerId, param), pageable);
 
         List<String> productIds = subscriptions.getContent().stream()
                 .map(ProductSubscription::getProductId)
@@ -412,13 +420,17 @@ public class ConsumerServiceImpl implements ConsumerService {
     }
 
     private Specification<ProductSubscription> buildCredentialSpec(String consumerId, QuerySubscriptionParam param) {
+        // 产品名称优先走索引，命中过多时回退到子查询
+        Set<String> productIds = productSearchIndex.findByName(param.getProductName(), MAX_PRODUCT_NAME_IDS);
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.equal(root.get("consumerId"), consumerId));
             if (param.getStatus() != null) {
                 predicates.add(cb.equal(root.get("status"), param.getStatus()));
             }
-            if (StrUtil.isNotBlank(param.getProductName())) {
+            if (productIds != null) {
+                predicates.add(productIds.isEmpty() ? cb.disjunction() : root.get("productId").in(productIds));
+            } else if (StrUtil.isNotBlank(param.getProductName())) {
                 // 使用子查询
                 Subquery<String> productSubquery = query.subquery(String.class);
                 Root<Product> productRoot = productSubquery.from(Product.class);
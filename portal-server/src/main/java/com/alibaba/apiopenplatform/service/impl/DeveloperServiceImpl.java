@@ -32,11 +32,11 @@ import com.alibaba.apiopenplatform.dto.params.developer.UpdateDeveloperParam;
 import com.alibaba.apiopenplatform.dto.result.AuthResult;
 import com.alibaba.apiopenplatform.dto.result.DeveloperResult;
 import com.alibaba.apiopenplatform.dto.result.PageResult;
+import com.alibaba.apiopenplatform.dto.result.PortalResult;
 import com.alibaba.apiopenplatform.entity.Developer;
-import com.alibaba.apiopenplatform.entity.Portal;
 import com.alibaba.apiopenplatform.repository.DeveloperRepository;
-import com.alibaba.apiopenplatform.repository.PortalRepository;
 import com.alibaba.apiopenplatform.service.DeveloperService;
+import com.alibaba.apiopenplatform.service.PortalService;
 import com.alibaba.apiopenplatform.core.utils.PasswordHasher;
 import com.alibaba.apiopenplatform.core.utils.IdGenerator;
 import com.alibaba.apiopenplatform.repository.DeveloperExternalIdentityRepository;
@@ -52,10 +52,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
+import com.alibaba.apiopenplatform.core.security.PasswordHashExecutor;
 
 import javax.persistence.criteria.Predicate;
 import java.util.*;
@@ -71,10 +73,12 @@ public class DeveloperServiceImpl implements DeveloperService {
 
     private final DeveloperExternalIdentityRepository externalRepository;
 
-    private final PortalRepository portalRepository;
+    private final PortalService portalService;
 
     private final ContextHolder contextHolder;
 
+    private final PasswordHashExecutor passwordHashExecutor;
+
     private final ApplicationEventPublisher eventPublisher;
 
     @Override
@@ -82,8 +86,7 @@ public class DeveloperServiceImpl implements DeveloperService {
         DeveloperResult developer = createDeveloper(param);
 
         // 检查是否自动审批
-        String portalId = contextHolder.getPortal();
-        Portal portal = findPortal(portalId);
+        PortalResult portal = portalService.getCurrentPortal();
         boolean autoApprove = portal.getPortalSettingConfig() != null
                 && BooleanUtil.isTrue(portal.getPortalSettingConfig().getAutoApproveDevelopers());
 
@@ -104,9 +107,9 @@ public class DeveloperServiceImpl implements DeveloperService {
         Developer developer = param.convertTo();
         developer.setDeveloperId(generateDeveloperId());
         developer.setPortalId(portalId);
-        developer.setPasswordHash(PasswordHasher.hash(param.getPassword()));
+        PortalResult portal = portalService.getCurrentPortal();
+        developer.setPasswordHash(passwordHashExecutor.hash(param.getPassword(), getPasswordHashCost(portal)));
 
-        Portal portal = findPortal(portalId);
         boolean autoApprove = portal.getPortalSettingConfig() != null
                 && BooleanUtil.isTrue(portal.getPortalSettingConfig().getAutoApproveDevelopers());
         developer.setStatus(autoApprove ? DeveloperStatus.APPROVED : DeveloperStatus.PENDING);
@@ -117,6 +120,7 @@ public class DeveloperServiceImpl implements DeveloperService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResult login(String username, String password) {
         String portalId = contextHolder.getPortal();
         Developer developer = developerRepository.findByPortalIdAndUsername(portalId, username)
@@ -126,9 +130,10 @@ public class DeveloperServiceImpl implements DeveloperService {
             throw new BusinessException(ErrorCode.INVALID_REQUEST, "账号审批中");
         }
 
-        if (!PasswordHasher.verify(password, developer.getPasswordHash())) {
+        if (!passwordHashExecutor.verify(password, developer.getPasswordHash())) {
             throw new BusinessException(ErrorCode.UNAUTHORIZED, "用户名或密码错误");
         }
+        rehashIfNeeded(developer, password);
 
         String token = generateToken(developer.getDeveloperId());
         return AuthResult.builder()
@@ -196,7 +201,7 @@ public class DeveloperServiceImpl implements DeveloperService {
         if (contextHolder.isDeveloper()) {
             param.setPortalId(contextHolder.getPortal());
         }
-        Page<Developer> developers = developerRepository.findAll(buildSpecification(param), pageable);
+        Page<Developer> developers = developerRepository.findSummaries(buildSpecification(param), pageable);
         return new PageResult<DeveloperResult>().convertFrom(developers, developer -> new DeveloperResult().convertFrom(developer));
     }
 
@@ -212,11 +217,11 @@ public class DeveloperServiceImpl implements DeveloperService {
     public boolean resetPassword(String developerId, String oldPassword, String newPassword) {
         Developer developer = findDeveloper(developerId);
 
-        if (!PasswordHasher.verify(oldPassword, developer.getPasswordHash())) {
+        if (!passwordHashExecutor.verify(oldPassword, developer.getPasswordHash())) {
             throw new BusinessException(ErrorCode.UNAUTHORIZED, "用户名或密码错误");
         }
 
-        developer.setPasswordHash(PasswordHasher.hash(newPassword));
+        developer.setPasswordHash(passwordHashExecutor.hash(newPassword, getPasswordHashCost(getDeveloperPortal(developer))));
         developerRepository.save(developer);
         return true;
     }
@@ -245,6 +250,34 @@ public class DeveloperServiceImpl implements DeveloperService {
         developers.forEach(developer -> deleteDeveloper(developer.getDeveloperId()));
     }
 
+    /**
+     * 门户调整密码哈希强度后，登录成功时按新强度重新哈希
+     */
+    private void rehashIfNeeded(Developer developer, String password) {
+        int cost = getPasswordHashCost(portalService.getCurrentPortal());
+        if (!PasswordHasher.needsRehash(developer.getPasswordHash(), cost)) {
+            return;
+        }
+        try {
+            developer.setPasswordHash(passwordHashExecutor.hash(password, cost));
+            developerRepository.save(developer);
+        } catch (BusinessException e) {
+            // 线程池繁忙时跳过，下次登录再迁移
+            log.debug("Skip password rehash for developer: {}, {}", developer.getDeveloperId(), e.getMessage());
+        }
+    }
+
+    private PortalResult getDeveloperPortal(Developer developer) {
+        return StrUtil.equals(developer.getPortalId(), contextHolder.getPortal()) ?
+                portalService.getCurrentPortal() : portalService.getPortal(developer.getPortalId());
+    }
+
+    private int getPasswordHashCost(PortalResult portal) {
+        Integer cost = portal.getPortalSettingConfig() == null ? null : portal.getPortalSettingConfig().getPasswordHashCost();
+        // 兼容调整上限前保存的强度配置
+        return cost == null ? PasswordHasher.DEFAULT_COST : Math.min(cost, PasswordHasher.MAX_COST);
+    }
+
     private String generateToken(String developerId) {
         return TokenUtil.generateDeveloperToken(developerId);
     }
@@ -294,11 +327,6 @@ public class DeveloperServiceImpl implements DeveloperService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.DEVELOPER, developerId));
     }
 
-    private Portal findPortal(String portalId) {
-        return portalRepository.findByPortalId(portalId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.PORTAL, portalId));
-    }
-
     private Specification<Developer> buildSpecification(QueryDeveloperParam param) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
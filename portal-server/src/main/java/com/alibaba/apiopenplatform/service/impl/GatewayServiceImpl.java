@@ -118,6 +118,7 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
         }
 
         gatewayRepository.delete(gateway);
+        getOperator(gateway).removeClient(gateway);
     }
 
     @Override
@@ -7,15 +7,14 @@ import cn.hutool.json.JSONUtil;
 import com.alibaba.apiopenplatform.core.constant.IdpConstants;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.core.security.OidcMetadataCache;
 import com.alibaba.apiopenplatform.service.IdpService;
 import com.alibaba.apiopenplatform.support.enums.GrantType;
 import com.alibaba.apiopenplatform.support.enums.PublicKeyFormat;
 import com.alibaba.apiopenplatform.support.portal.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigInteger;
 import java.security.KeyFactory;
@@ -33,7 +32,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class IdpServiceImpl implements IdpService {
 
-    private final RestTemplate restTemplate;
+    private final OidcMetadataCache oidcMetadataCache;
 
     @Override
     public void validateOidcConfigs(List<OidcConfig> oidcConfigs) {
@@ -76,16 +75,10 @@ public class IdpServiceImpl implements IdpService {
         });
     }
 
-    @SuppressWarnings("unchecked")
     private void discoverAndSetEndpoints(String provider, AuthCodeConfig config) {
         String discoveryUrl = config.getIssuer().replaceAll("/$", "") + "/.well-known/openid-configuration";
         try {
-            Map<String, Object> discovery = restTemplate.exchange(
-                            discoveryUrl,
-                            HttpMethod.GET,
-                            null,
-                            Map.class)
-                    .getBody();
+            Map<String, Object> discovery = oidcMetadataCache.getDiscovery(config.getIssuer());
 
             // 验证并设置端点
             String authEndpoint = getRequiredEndpoint(discovery, IdpConstants.AUTHORIZATION_ENDPOINT);
@@ -95,6 +88,9 @@ public class IdpServiceImpl implements IdpService {
             config.setAuthorizationEndpoint(authEndpoint);
             config.setTokenEndpoint(tokenEndpoint);
             config.setUserInfoEndpoint(userInfoEndpoint);
+            if (StrUtil.isBlank(config.getJwkSetUri()) && discovery.get(IdpConstants.JWKS_URI) != null) {
+                config.setJwkSetUri(discovery.get(IdpConstants.JWKS_URI).toString());
+            }
         } catch (Exception e) {
             log.error("Failed to discover OIDC endpoints from discovery URL: {}", discoveryUrl, e);
             throw new BusinessException(ErrorCode.INVALID_PARAMETER, StrUtil.format("OIDC配置{}的Issuer无效或无法访问", provider));
@@ -20,6 +20,7 @@
 package com.alibaba.apiopenplatform.service.impl;
 
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import com.alibaba.apiopenplatform.core.constant.Resources;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
@@ -37,20 +38,18 @@ import com.alibaba.apiopenplatform.dto.result.MseNacosResult;
 import com.alibaba.apiopenplatform.entity.NacosInstance;
 import com.alibaba.apiopenplatform.repository.NacosInstanceRepository;
 import com.alibaba.apiopenplatform.service.NacosService;
+import com.alibaba.apiopenplatform.service.nacos.NacosClientRegistry;
 import com.alibaba.apiopenplatform.support.enums.SourceType;
 import com.alibaba.apiopenplatform.support.product.NacosRefConfig;
 import com.alibaba.apiopenplatform.dto.converter.NacosToGatewayToolsConverter;
 import cn.hutool.json.JSONUtil;
-import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerBasicInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import com.alibaba.nacos.maintainer.client.ai.AiMaintainerFactory;
 import com.alibaba.nacos.maintainer.client.ai.McpMaintainerService;
-import com.alibaba.nacos.maintainer.client.naming.NamingMaintainerFactory;
 import com.alibaba.nacos.maintainer.client.naming.NamingMaintainerService;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.aliyun.mse20190531.Client;
@@ -63,9 +62,8 @@ import com.alibaba.nacos.api.ai.model.mcp.McpServerDetailInfo;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -73,12 +71,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NacosServiceImpl implements NacosService {
 
-    private static final String DEFAULT_CONTEXT_PATH = "nacos";
+    private static final int LIST_PAGE_SIZE = 100;
+
+    /**
+     * MCP Server分页结果的缓存时间，覆盖管理端连续翻页、切换命名空间的场景
+     */
+    private static final long MCP_SERVER_PAGE_TTL = 10_000;
+
+    private static final int MAX_CACHED_PAGES = 256;
 
     private final NacosInstanceRepository nacosInstanceRepository;
 
     private final ContextHolder contextHolder;
 
+    private final NacosClientRegistry nacosClientRegistry;
+
+    /**
+     * nacosId|namespace|keyword|pageNo|pageSize -> 分页结果
+     */
+    private final Map<String, CachedPage> mcpServerPages = new ConcurrentHashMap<>();
+
     @Override
     public PageResult<NacosResult> listNacosInstances(Pageable pageable) {
         Page<NacosInstance> nacosInstances = nacosInstanceRepository.findAll(pageable);
@@ -131,19 +143,23 @@ public class NacosServiceImpl implements NacosService {
 
         param.update(instance);
         nacosInstanceRepository.saveAndFlush(instance);
+        nacosClientRegistry.evict(nacosId);
+        evictMcpServerPages(nacosId);
     }
 
     @Override
     public void deleteNacosInstance(String nacosId) {
         NacosInstance nacosInstance = findNacosInstance(nacosId);
         nacosInstanceRepository.delete(nacosInstance);
+        nacosClientRegistry.evict(nacosId);
+        evictMcpServerPages(nacosId);
     }
 
     @Override
     public PageResult<MseNacosResult> fetchNacos(QueryNacosParam param, Pageable pageable) {
         try {
-            // 创建MSE客户端
-            Client client = new Client(param.toClientConfig());
+            // 按AK/SK与地域复用MSE客户端
+            Client client = nacosClientRegistry.getMseClient(param.toClientConfig());
 
             // 构建请求
             ListClustersRequest request = new ListClustersRequest()
@@ -184,29 +200,51 @@ public class NacosServiceImpl implements NacosService {
     }
 
     @Override
-    public PageResult<NacosMCPServerResult> fetchMcpServers(String nacosId, String namespaceId, Pageable pageable) throws Exception {
-        NacosInstance nacosInstance = findNacosInstance(nacosId);
-        McpMaintainerService service = buildDynamicMcpService(nacosInstance);
+    public PageResult<NacosMCPServerResult> fetchMcpServers(String nacosId, String namespaceId, String mcpServerName, Pageable pageable) throws Exception {
         String ns = namespaceId == null ? "" : namespaceId;
-        com.alibaba.nacos.api.model.Page<McpServerBasicInfo> page = service.listMcpServer(ns, "", 1, Integer.MAX_VALUE);
+        String keyword = StrUtil.trimToEmpty(mcpServerName);
+        int pageNo = pageable.getPageNumber() + 1;
+        int pageSize = pageable.getPageSize();
+
+        String cacheKey = StrUtil.join("|", nacosId, ns, keyword, pageNo, pageSize);
+        CachedPage cached = mcpServerPages.get(cacheKey);
+        if (cached != null && cached.expireAt > System.currentTimeMillis()) {
+            return cached.result;
+        }
+
+        NacosInstance nacosInstance = findNacosInstance(nacosId);
+        McpMaintainerService service = nacosClientRegistry.getMcpService(nacosInstance);
+        // 分页与模糊搜索交给Nacos，只传输与转换当前页
+        com.alibaba.nacos.api.model.Page<McpServerBasicInfo> page = keyword.isEmpty() ?
+                service.listMcpServer(ns, "", pageNo, pageSize) :
+                service.searchMcpServer(ns, keyword, pageNo, pageSize);
+
+        PageResult<NacosMCPServerResult> result;
         if (page == null || page.getPageItems() == null) {
-            return PageResult.empty(pageable.getPageNumber(), pageable.getPageSize());
+            result = PageResult.empty(pageNo, pageSize);
+        } else {
+            List<NacosMCPServerResult> list = page.getPageItems().stream()
+                    .map(basicInfo -> new NacosMCPServerResult().convertFrom(basicInfo))
+                    .collect(Collectors.toList());
+            result = PageResult.of(list, pageNo, pageSize, page.getTotalCount());
         }
-        return page.getPageItems().stream()
-                .map(basicInfo -> new NacosMCPServerResult().convertFrom(basicInfo))
-                .skip(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .collect(Collectors.collectingAndThen(
-                        Collectors.toList(),
-                        list -> PageResult.of(list, pageable.getPageNumber(), pageable.getPageSize(), page.getPageItems().size())
-                ));
+
+        if (mcpServerPages.size() >= MAX_CACHED_PAGES) {
+            long now = System.currentTimeMillis();
+            mcpServerPages.values().removeIf(p -> p.expireAt <= now);
+            if (mcpServerPages.size() >= MAX_CACHED_PAGES) {
+                mcpServerPages.clear();
+            }
+        }
+        mcpServerPages.put(cacheKey, new CachedPage(result, System.currentTimeMillis() + MCP_SERVER_PAGE_TTL));
+        return result;
     }
 
     @Override
     public PageResult<NacosNamespaceResult> fetchNamespaces(String nacosId, Pageable pageable) throws Exception {
         NacosInstance nacosInstance = findNacosInstance(nacosId);
         // 使用空 namespace 构建 (列出全部命名空间)
-        NamingMaintainerService namingService = buildDynamicNamingService(nacosInstance, "");
+        NamingMaintainerService namingService = nacosClientRegistry.getNamingService(nacosInstance, "");
         List<?> namespaces;
         try {
             namespaces = namingService.getNamespaceList();
@@ -232,7 +270,7 @@ public class NacosServiceImpl implements NacosService {
     public String fetchMcpConfig(String nacosId, NacosRefConfig nacosRefConfig) {
         NacosInstance nacosInstance = findNacosInstance(nacosId);
 
-        McpMaintainerService service = buildDynamicMcpService(nacosInstance);
+        McpMaintainerService service = nacosClientRegistry.getMcpService(nacosInstance);
         try {
             McpServerDetailInfo detail = service.getMcpServerDetail(nacosRefConfig.getNamespaceId(),
                     nacosRefConfig.getMcpServerName(), null);
@@ -248,6 +286,33 @@ public class NacosServiceImpl implements NacosService {
         }
     }
 
+    @Override
+    public Map<String, String> fetchMcpServerFingerprints(String nacosId, String namespaceId) {
+        McpMaintainerService service = nacosClientRegistry.getMcpService(findNacosInstance(nacosId));
+        String ns = namespaceId == null ? "" : namespaceId;
+
+        Map<String, String> fingerprints = new HashMap<>();
+        try {
+            for (int pageNo = 1; ; pageNo++) {
+                com.alibaba.nacos.api.model.Page<McpServerBasicInfo> page = service.listMcpServer(ns, "", pageNo, LIST_PAGE_SIZE);
+                if (page == null || page.getPageItems() == null || page.getPageItems().isEmpty()) {
+                    break;
+                }
+                // 基本信息包含版本与发布时间，任何字段变化都视为MCP Server变化
+                for (McpServerBasicInfo basicInfo : page.getPageItems()) {
+                    fingerprints.put(basicInfo.getName(), DigestUtil.md5Hex(JSONUtil.toJsonStr(basicInfo)));
+                }
+                if (pageNo >= page.getPagesAvailable()) {
+                    break;
+                }
+            }
+        } catch (NacosException e) {
+            log.error("Error listing MCP servers from Nacos by nacosId {}", nacosId, e);
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Failed to list MCP servers: " + e.getErrMsg());
+        }
+        return fingerprints;
+    }
+
     private MCPConfigResult buildMCPConfigResult(McpServerDetailInfo detail) {
         MCPConfigResult mcpConfig = new MCPConfigResult();
         mcpConfig.setMcpServerName(detail.getName());
@@ -442,69 +507,20 @@ public class NacosServiceImpl implements NacosService {
         return endpoint.toString();
     }
 
+    private void evictMcpServerPages(String nacosId) {
+        mcpServerPages.keySet().removeIf(key -> key.startsWith(nacosId + "|"));
+    }
+
     private NacosInstance findNacosInstance(String nacosId) {
         return nacosInstanceRepository.findByNacosId(nacosId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.NACOS_INSTANCE, nacosId));
     }
 
-    private McpMaintainerService buildDynamicMcpService(NacosInstance nacosInstance) {
-        Properties properties = new Properties();
-        properties.setProperty(PropertyKeyConst.SERVER_ADDR, nacosInstance.getServerUrl());
-        if (Objects.nonNull(nacosInstance.getUsername())) {
-            properties.setProperty(PropertyKeyConst.USERNAME, nacosInstance.getUsername());
-        }
-
-        if (Objects.nonNull(nacosInstance.getPassword())) {
-            properties.setProperty(PropertyKeyConst.PASSWORD, nacosInstance.getPassword());
-        }
-        properties.setProperty(PropertyKeyConst.CONTEXT_PATH, DEFAULT_CONTEXT_PATH);
-        // instance no longer stores namespace; leave namespace empty to let requests use default/public
-        // if consumers need a specific namespace, they should call an overload that accepts it
-        if (Objects.nonNull(nacosInstance.getAccessKey())) {
-            properties.setProperty(PropertyKeyConst.ACCESS_KEY, nacosInstance.getAccessKey());
-        }
-
-        if (Objects.nonNull(nacosInstance.getSecretKey())) {
-            properties.setProperty(PropertyKeyConst.SECRET_KEY, nacosInstance.getSecretKey());
-        }
-
-        try {
-            return AiMaintainerFactory.createAiMaintainerService(properties);
-        } catch (Exception e) {
-            log.error("Error init Nacos AiMaintainerService", e);
-            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error init Nacos AiMaintainerService");
-        }
-    }
-
-    // removed unused no-namespace overload; use the runtime-namespace overload instead
+    @RequiredArgsConstructor
+    private static class CachedPage {
 
-    // overload to build NamingMaintainerService with a runtime namespace value
-    private NamingMaintainerService buildDynamicNamingService(NacosInstance nacosInstance, String runtimeNamespace) {
-        Properties properties = new Properties();
-        properties.setProperty(PropertyKeyConst.SERVER_ADDR, nacosInstance.getServerUrl());
-        if (Objects.nonNull(nacosInstance.getUsername())) {
-            properties.setProperty(PropertyKeyConst.USERNAME, nacosInstance.getUsername());
-        }
+        private final PageResult<NacosMCPServerResult> result;
 
-        if (Objects.nonNull(nacosInstance.getPassword())) {
-            properties.setProperty(PropertyKeyConst.PASSWORD, nacosInstance.getPassword());
-        }
-        properties.setProperty(PropertyKeyConst.CONTEXT_PATH, DEFAULT_CONTEXT_PATH);
-        properties.setProperty(PropertyKeyConst.NAMESPACE, runtimeNamespace == null ? "" : runtimeNamespace);
-
-        if (Objects.nonNull(nacosInstance.getAccessKey())) {
-            properties.setProperty(PropertyKeyConst.ACCESS_KEY, nacosInstance.getAccessKey());
-        }
-
-        if (Objects.nonNull(nacosInstance.getSecretKey())) {
-            properties.setProperty(PropertyKeyConst.SECRET_KEY, nacosInstance.getSecretKey());
-        }
-
-        try {
-            return NamingMaintainerFactory.createNamingMaintainerService(properties);
-        } catch (Exception e) {
-            log.error("Error init Nacos NamingMaintainerService", e);
-            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error init Nacos NamingMaintainerService");
-        }
+        private final long expireAt;
     }
-}
\ No newline at end of file
+}
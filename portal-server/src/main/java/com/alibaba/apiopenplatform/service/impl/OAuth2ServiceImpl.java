@@ -19,36 +19,30 @@
 
 package com.alibaba.apiopenplatform.service.impl;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
-import cn.hutool.core.util.EnumUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.jwt.JWT;
 import cn.hutool.jwt.JWTUtil;
 import cn.hutool.jwt.signers.JWTSigner;
-import cn.hutool.jwt.signers.JWTSignerUtil;
 import com.alibaba.apiopenplatform.core.constant.JwtConstants;
 import com.alibaba.apiopenplatform.core.constant.Resources;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.core.security.JwtBearerSignerCache;
 import com.alibaba.apiopenplatform.core.utils.TokenUtil;
 import com.alibaba.apiopenplatform.dto.params.developer.CreateExternalDeveloperParam;
 import com.alibaba.apiopenplatform.dto.result.AuthResult;
 import com.alibaba.apiopenplatform.dto.result.DeveloperResult;
-import com.alibaba.apiopenplatform.dto.result.PortalResult;
 import com.alibaba.apiopenplatform.service.DeveloperService;
-import com.alibaba.apiopenplatform.service.IdpService;
 import com.alibaba.apiopenplatform.service.OAuth2Service;
 import com.alibaba.apiopenplatform.service.PortalService;
 import com.alibaba.apiopenplatform.support.enums.DeveloperAuthType;
 import com.alibaba.apiopenplatform.support.enums.GrantType;
-import com.alibaba.apiopenplatform.support.enums.JwtAlgorithm;
 import com.alibaba.apiopenplatform.support.portal.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.security.PublicKey;
 import java.util.*;
 
 /**
@@ -63,7 +57,7 @@ public class OAuth2ServiceImpl implements OAuth2Service {
 
     private final DeveloperService developerService;
 
-    private final IdpService idpService;
+    private final JwtBearerSignerCache signerCache;
 
     @Override
     public AuthResult authenticate(String grantType, String jwtToken) {
@@ -87,31 +81,22 @@ public class OAuth2ServiceImpl implements OAuth2Service {
             throw new BusinessException(ErrorCode.INVALID_REQUEST, "JWT payload缺少字段portal");
         }
 
-        // 根据provider确定OAuth2配置
-        PortalResult portal = portalService.getPortal(portalId);
-        List<OAuth2Config> oauth2Configs = Optional.ofNullable(portal.getPortalSettingConfig())
-                .map(PortalSettingConfig::getOauth2Configs)
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.OAUTH2_CONFIG, portalId));
-
-        OAuth2Config oAuth2Config = oauth2Configs.stream()
-                // JWT Bearer模式
-                .filter(config -> config.getGrantType() == GrantType.JWT_BEARER)
-                .filter(config -> config.getJwtBearerConfig() != null
-                        && CollUtil.isNotEmpty(config.getJwtBearerConfig().getPublicKeys()))
-                // provider标识
-                .filter(config -> config.getProvider().equals(provider))
-                .findFirst()
+        // 根据provider、kid确定OAuth2配置及验签器
+        JwtBearerSignerCache.PortalSigners portalSigners = signerCache.get(portalId,
+                () -> portalService.getPortal(portalId).getPortalSettingConfig());
+        if (!portalSigners.isConfigured()) {
+            throw new BusinessException(ErrorCode.NOT_FOUND, Resources.OAUTH2_CONFIG, portalId);
+        }
+
+        JwtBearerSignerCache.ProviderSigners providerSigners = Optional.ofNullable(portalSigners.getProvider(provider))
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.OAUTH2_CONFIG, provider));
+        OAuth2Config oAuth2Config = providerSigners.getConfig();
 
-        // 根据kid找到对应公钥
-        JwtBearerConfig jwtConfig = oAuth2Config.getJwtBearerConfig();
-        PublicKeyConfig publicKeyConfig = jwtConfig.getPublicKeys().stream()
-                .filter(key -> kid.equals(key.getKid()))
-                .findFirst()
+        JWTSigner signer = Optional.ofNullable(providerSigners.getSigner(kid))
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.PUBLIC_KEY, kid));
 
         // 验签
-        if (!verifySignature(jwt, publicKeyConfig)) {
+        if (!jwt.setSigner(signer).verify()) {
             throw new BusinessException(ErrorCode.INVALID_REQUEST, "JWT签名验证失败");
         }
 
@@ -127,36 +112,6 @@ public class OAuth2ServiceImpl implements OAuth2Service {
         return AuthResult.of(accessToken, TokenUtil.getTokenExpiresIn());
     }
 
-    private boolean verifySignature(JWT jwt, PublicKeyConfig keyConfig) {
-        // 加载公钥
-        PublicKey publicKey = idpService.loadPublicKey(keyConfig.getFormat(), keyConfig.getValue());
-
-        // 验证JWT
-        JWTSigner signer = createJWTSigner(keyConfig.getAlgorithm(), publicKey);
-        return jwt.setSigner(signer).verify();
-    }
-
-    private JWTSigner createJWTSigner(String algorithm, PublicKey publicKey) {
-        JwtAlgorithm alg = EnumUtil.fromString(JwtAlgorithm.class, algorithm.toUpperCase());
-
-        switch (alg) {
-            case RS256:
-                return JWTSignerUtil.rs256(publicKey);
-            case RS384:
-                return JWTSignerUtil.rs384(publicKey);
-            case RS512:
-                return JWTSignerUtil.rs512(publicKey);
-            case ES256:
-                return JWTSignerUtil.es256(publicKey);
-            case ES384:
-                return JWTSignerUtil.es384(publicKey);
-            case ES512:
-                return JWTSignerUtil.es512(publicKey);
-            default:
-                throw new BusinessException(ErrorCode.INVALID_PARAMETER, "不支持的JWT签名算法");
-        }
-    }
-
     private void validateJwtClaims(JWT jwt) {
         // 过期时间
         Object expObj = jwt.getPayload(JwtConstants.PAYLOAD_EXP);
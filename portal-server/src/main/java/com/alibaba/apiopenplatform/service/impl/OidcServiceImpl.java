@@ -3,17 +3,21 @@ package com.alibaba.apiopenplatform.service.impl;
 import cn.hutool.core.codec.Base64;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.util.EnumUtil;
 import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
 import cn.hutool.jwt.JWT;
 import cn.hutool.jwt.JWTUtil;
+import cn.hutool.jwt.signers.JWTSignerUtil;
 import com.alibaba.apiopenplatform.core.constant.CommonConstants;
 import com.alibaba.apiopenplatform.core.constant.IdpConstants;
+import com.alibaba.apiopenplatform.core.constant.JwtConstants;
 import com.alibaba.apiopenplatform.core.constant.Resources;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
+import com.alibaba.apiopenplatform.core.security.OidcMetadataCache;
 import com.alibaba.apiopenplatform.core.utils.TokenUtil;
 import com.alibaba.apiopenplatform.dto.params.developer.CreateExternalDeveloperParam;
 import com.alibaba.apiopenplatform.dto.result.*;
@@ -22,6 +26,7 @@ import com.alibaba.apiopenplatform.service.DeveloperService;
 import com.alibaba.apiopenplatform.service.PortalService;
 import com.alibaba.apiopenplatform.support.enums.DeveloperAuthType;
 import com.alibaba.apiopenplatform.support.enums.GrantType;
+import com.alibaba.apiopenplatform.support.enums.JwtAlgorithm;
 import com.alibaba.apiopenplatform.support.portal.AuthCodeConfig;
 import com.alibaba.apiopenplatform.support.portal.IdentityMapping;
 import com.alibaba.apiopenplatform.support.portal.OidcConfig;
@@ -39,6 +44,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.security.PublicKey;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -55,6 +61,8 @@ public class OidcServiceImpl implements OidcService {
 
     private final ContextHolder contextHolder;
 
+    private final OidcMetadataCache oidcMetadataCache;
+
     @Override
     public String buildAuthorizationUrl(String provider, String apiPrefix, HttpServletRequest request) {
         OidcConfig oidcConfig = findOidcConfig(provider);
@@ -110,7 +118,7 @@ public class OidcServiceImpl implements OidcService {
 
     @Override
     public List<IdpResult> getAvailableProviders() {
-        return Optional.ofNullable(portalService.getPortal(contextHolder.getPortal()))
+        return Optional.ofNullable(portalService.getCurrentPortal())
                 .filter(portal -> portal.getPortalSettingConfig() != null)
                 .filter(portal -> portal.getPortalSettingConfig().getOidcConfigs() != null)
                 .map(portal -> portal.getPortalSettingConfig().getOidcConfigs())
@@ -142,7 +150,7 @@ public class OidcServiceImpl implements OidcService {
     }
 
     private OidcConfig findOidcConfig(String provider) {
-        return Optional.ofNullable(portalService.getPortal(contextHolder.getPortal()))
+        return Optional.ofNullable(portalService.getCurrentPortal())
                 .filter(portal -> portal.getPortalSettingConfig() != null)
                 .filter(portal -> portal.getPortalSettingConfig().getOidcConfigs() != null)
                 // 根据provider字段过滤
@@ -227,7 +235,9 @@ public class OidcServiceImpl implements OidcService {
                 throw new BusinessException(ErrorCode.INVALID_REQUEST, "ID Token已过期");
             }
         }
-        // TODO 验签
+
+        // 验签，未配置Issuer或JWKS时依赖与Token端点间的TLS保证Token来源
+        verifyIdToken(jwt, oidcConfig.getAuthCodeConfig());
 
         Map<String, Object> userInfo = jwt.getPayload().getClaimsJson();
 
@@ -235,6 +245,57 @@ public class OidcServiceImpl implements OidcService {
         return userInfo;
     }
 
+    private void verifyIdToken(JWT jwt, AuthCodeConfig authCodeConfig) {
+        String jwksUri = resolveJwksUri(authCodeConfig);
+        if (StrUtil.isBlank(jwksUri)) {
+            log.debug("JWKS not configured, skip ID Token signature verification");
+            return;
+        }
+
+        String alg = (String) jwt.getHeader(JwtConstants.HEADER_ALG);
+        if (StrUtil.isBlank(alg) || !EnumUtil.contains(JwtAlgorithm.class, alg.toUpperCase())) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "ID Token签名算法不支持");
+        }
+
+        String kid = (String) jwt.getHeader(JwtConstants.HEADER_KID);
+        PublicKey publicKey = oidcMetadataCache.getPublicKey(jwksUri, kid);
+        if (publicKey == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND, Resources.PUBLIC_KEY, kid);
+        }
+        if (!jwt.setSigner(JWTSignerUtil.createSigner(alg.toUpperCase(), publicKey)).verify()) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "ID Token签名验证失败");
+        }
+
+        // iss & aud
+        String issuer = authCodeConfig.getIssuer();
+        if (StrUtil.isNotBlank(issuer) && !StrUtil.equals(StrUtil.removeSuffix(issuer, "/"),
+                StrUtil.removeSuffix(Convert.toStr(jwt.getPayload(JwtConstants.PAYLOAD_ISS)), "/"))) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "ID Token签发者不匹配");
+        }
+        Object aud = jwt.getPayload(JwtConstants.PAYLOAD_AUD);
+        boolean audMatched = aud instanceof Collection ?
+                ((Collection<?>) aud).stream().anyMatch(a -> authCodeConfig.getClientId().equals(Convert.toStr(a))) :
+                authCodeConfig.getClientId().equals(Convert.toStr(aud));
+        if (!audMatched) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "ID Token受众不匹配");
+        }
+    }
+
+    private String resolveJwksUri(AuthCodeConfig authCodeConfig) {
+        if (StrUtil.isNotBlank(authCodeConfig.getJwkSetUri())) {
+            return authCodeConfig.getJwkSetUri();
+        }
+        if (StrUtil.isBlank(authCodeConfig.getIssuer())) {
+            return null;
+        }
+        try {
+            return Convert.toStr(oidcMetadataCache.getDiscovery(authCodeConfig.getIssuer()).get(IdpConstants.JWKS_URI));
+        } catch (Exception e) {
+            log.error("Failed to discover JWKS uri from issuer: {}", authCodeConfig.getIssuer(), e);
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "获取OIDC元数据失败");
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Map<String, Object> requestUserInfo(String accessToken, AuthCodeConfig authCodeConfig, OidcConfig oidcConfig) {
         try {
@@ -26,8 +26,11 @@ import com.alibaba.apiopenplatform.core.constant.Resources;
 import com.alibaba.apiopenplatform.core.event.PortalDeletingEvent;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.core.portal.PortalRoutingTable;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
+import com.alibaba.apiopenplatform.core.security.JwtBearerSignerCache;
 import com.alibaba.apiopenplatform.core.utils.IdGenerator;
+import com.alibaba.apiopenplatform.core.utils.PasswordHasher;
 import com.alibaba.apiopenplatform.dto.params.consumer.QuerySubscriptionParam;
 import com.alibaba.apiopenplatform.dto.params.portal.*;
 import com.alibaba.apiopenplatform.dto.result.PageResult;
@@ -93,6 +96,10 @@ public class PortalServiceImpl implements PortalService {
 
     private final GatewayService gatewayService;
 
+    private final PortalRoutingTable portalRoutingTable;
+
+    private final JwtBearerSignerCache jwtBearerSignerCache;
+
     public PortalResult createPortal(CreatePortalParam param) {
         portalRepository.findByName(param.getName())
                 .ifPresent(portal -> {
@@ -115,6 +122,7 @@ public class PortalServiceImpl implements PortalService {
 
         portalDomainRepository.save(portalDomain);
         portalRepository.save(portal);
+        portalRoutingTable.addPortal(portalId, portalDomain.getDomain());
 
         return getPortal(portalId);
     }
@@ -128,6 +136,16 @@ public class PortalServiceImpl implements PortalService {
         return new PortalResult().convertFrom(portal);
     }
 
+    @Override
+    public PortalResult getCurrentPortal() {
+        PortalResult portal = contextHolder.getResolvedPortal();
+        if (portal == null) {
+            portal = getPortal(contextHolder.getPortal());
+            contextHolder.saveResolvedPortal(portal);
+        }
+        return portal;
+    }
+
     @Override
     public void existsPortal(String portalId) {
         portalRepository.findByPortalId(portalId)
@@ -179,6 +197,13 @@ public class PortalServiceImpl implements PortalService {
             idpService.validateOAuth2Configs(setting.getOauth2Configs());
         }
 
+        Integer passwordHashCost = setting.getPasswordHashCost();
+        if (passwordHashCost != null
+                && (passwordHashCost < PasswordHasher.MIN_COST || passwordHashCost > PasswordHasher.MAX_COST)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                    StrUtil.format("密码哈希强度需在{}-{}之间", PasswordHasher.MIN_COST, PasswordHasher.MAX_COST));
+        }
+
         // 至少保留一种认证方式
         if (BooleanUtil.isFalse(setting.getBuiltinAuthEnabled())) {
             boolean enabledOidc = Optional.ofNullable(setting.getOidcConfigs())
@@ -191,8 +216,14 @@ public class PortalServiceImpl implements PortalService {
             }
         }
         portalRepository.saveAndFlush(portal);
+        jwtBearerSignerCache.rebuild(portalId, setting);
 
-        return getPortal(portal.getPortalId());
+        PortalResult result = getPortal(portal.getPortalId());
+        // 刷新请求内缓存的门户信息
+        if (contextHolder.getResolvedPortal() != null) {
+            contextHolder.saveResolvedPortal(result);
+        }
+        return result;
     }
 
     @Override
@@ -205,13 +236,13 @@ public class PortalServiceImpl implements PortalService {
         // 异步清理门户资源
         eventPublisher.publishEvent(new PortalDeletingEvent(portalId));
         portalRepository.delete(portal);
+        portalRoutingTable.removePortal(portalId);
+        jwtBearerSignerCache.invalidate(portalId);
     }
 
     @Override
     public String resolvePortal(String domain) {
-        return portalDomainRepository.findByDomain(domain)
-                .map(PortalDomain::getPortalId)
-                .orElse(null);
+        return portalRoutingTable.resolve(domain);
     }
 
     @Override
@@ -226,6 +257,7 @@ public class PortalServiceImpl implements PortalService {
         portalDomain.setPortalId(portalId);
 
         portalDomainRepository.save(portalDomain);
+        portalRoutingTable.bind(portalId, portalDomain.getDomain());
         return getPortal(portalId);
     }
 
@@ -238,6 +270,7 @@ public class PortalServiceImpl implements PortalService {
                         throw new BusinessException(ErrorCode.INVALID_REQUEST, "默认域名不允许解绑");
                     }
                     portalDomainRepository.delete(portalDomain);
+                    portalRoutingTable.unbind(portalId, portalDomain.getDomain());
                 });
         return getPortal(portalId);
     }
@@ -256,17 +289,13 @@ public class PortalServiceImpl implements PortalService {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
 
-        Page<ProductSubscription> page = subscriptionRepository.findAll(spec, pageable);
+        Page<ProductSubscription> page = subscriptionRepository.findSummaries(spec, pageable);
         return new PageResult<SubscriptionResult>().convertFrom(page, s -> new SubscriptionResult().convertFrom(s));
     }
 
     @Override
     public String getDefaultPortal() {
-        Portal portal = portalRepository.findFirstByOrderByIdAsc().orElse(null);
-        if (portal == null) {
-            return null;
-        }
-        return portal.getPortalId();
+        return portalRoutingTable.getDefaultPortal();
     }
 
     @Override
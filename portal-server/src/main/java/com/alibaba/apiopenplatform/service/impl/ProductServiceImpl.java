@@ -21,22 +21,29 @@ package com.alibaba.apiopenplatform.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import cn.hutool.json.JSONUtil;
 import com.alibaba.apiopenplatform.core.constant.Resources;
 import com.alibaba.apiopenplatform.core.event.PortalDeletingEvent;
 import com.alibaba.apiopenplatform.core.event.ProductDeletingEvent;
 import com.alibaba.apiopenplatform.core.exception.BusinessException;
 import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.core.portal.PortalCatalog;
+import com.alibaba.apiopenplatform.core.portal.PortalCatalog.CatalogItem;
+import com.alibaba.apiopenplatform.core.search.ProductSearchIndex;
 import com.alibaba.apiopenplatform.core.security.ContextHolder;
+import com.alibaba.apiopenplatform.core.utils.HttpCacheUtil;
 import com.alibaba.apiopenplatform.core.utils.IdGenerator;
 import com.alibaba.apiopenplatform.dto.params.product.*;
 import com.alibaba.apiopenplatform.dto.result.*;
 import com.alibaba.apiopenplatform.entity.*;
 import com.alibaba.apiopenplatform.repository.*;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository.ProductRefSummary;
 import com.alibaba.apiopenplatform.service.GatewayService;
 import com.alibaba.apiopenplatform.service.PortalService;
 import com.alibaba.apiopenplatform.service.ProductService;
 import com.alibaba.apiopenplatform.service.NacosService;
+import com.alibaba.apiopenplatform.support.common.TextCompressor;
 import com.alibaba.apiopenplatform.support.enums.ProductStatus;
 import com.alibaba.apiopenplatform.support.enums.ProductType;
 import com.alibaba.apiopenplatform.support.enums.SourceType;
@@ -46,6 +53,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import javax.persistence.criteria.*;
 import javax.transaction.Transactional;
@@ -64,8 +73,22 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProductServiceImpl implements ProductService {
 
+    /**
+     * 全文检索最多返回的产品数
+     */
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
+    /**
+     * 名称过滤命中数超过该值时回退到LIKE查询，避免过长的IN列表
+     */
+    private static final int MAX_NAME_FILTER_IDS = 1000;
+
     private final ContextHolder contextHolder;
 
+    private final PortalCatalog portalCatalog;
+
+    private final ProductSearchIndex productSearchIndex;
+
     private final PortalService portalService;
 
     private final GatewayService gatewayService;
@@ -115,25 +138,91 @@ public class ProductServiceImpl implements ProductService {
 
         ProductResult result = new ProductResult().convertFrom(product);
 
-        // 补充Product信息
-        fullFillProduct(result);
+        // 补充Product信息，spec、tools通过单独的接口下载
+        fullFillProducts(Collections.singletonList(result));
+        if (result.getApiConfig() != null) {
+            result.getApiConfig().setSpecUrl(StrUtil.format("/products/{}/spec", productId));
+        }
+        if (result.getMcpConfig() != null) {
+            result.getMcpConfig().setToolsUrl(StrUtil.format("/products/{}/tools", productId));
+        }
         return result;
     }
 
+    @Override
+    public String getProductSpec(String productId) {
+        checkProductVisible(productId);
+        return TextCompressor.decompress(productRefRepository.findSpecByProductId(productId));
+    }
+
+    @Override
+    public String getProductTools(String productId) {
+        checkProductVisible(productId);
+        return TextCompressor.decompress(productRefRepository.findToolsByProductId(productId));
+    }
+
+    /**
+     * 管理员可见全部产品，开发者仅可见当前门户已发布的产品
+     */
+    private void checkProductVisible(String productId) {
+        if (contextHolder.isAdministrator()) {
+            existsProduct(productId);
+            return;
+        }
+        publicationRepository.findByPortalIdAndProductId(contextHolder.getPortal(), productId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, Resources.PRODUCT, productId));
+    }
+
     @Override
     public PageResult<ProductResult> listProducts(QueryProductParam param, Pageable pageable) {
-        log.info("zhaoh-test-listProducts-start");
         if (contextHolder.isDeveloper()) {
             param.setPortalId(contextHolder.getPortal());
         }
 
-        Page<Product> products = productRepository.findAll(buildSpecification(param), pageable);
-        return new PageResult<ProductResult>().convertFrom(
-                products, product -> {
-                    ProductResult result = new ProductResult().convertFrom(product);
-                    fullFillProduct(result);
-                    return result;
-                });
+        // 开发者浏览目录直接使用门户快照，游标翻页走数据库
+        if (contextHolder.isDeveloper() && !(pageable instanceof CursorPageable)) {
+            PageResult<ProductResult> result = portalCatalog.get(param.getPortalId(), this::loadCatalog)
+                    .query(param, productSearchIndex.findByName(param.getName(), Integer.MAX_VALUE), pageable);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        Page<Product> products = productRepository.findSummaries(buildSpecification(param), pageable);
+        PageResult<ProductResult> result = new PageResult<ProductResult>().convertFrom(
+                products, product -> new ProductResult().convertFrom(product));
+        fullFillProducts(result.getContent());
+        return result;
+    }
+
+    @Override
+    public PageResult<ProductResult> searchProducts(String keyword, Pageable pageable) {
+        String portalId = contextHolder.isDeveloper() ? contextHolder.getPortal() : null;
+        if (!productSearchIndex.isReady()) {
+            QueryProductParam param = new QueryProductParam();
+            param.setName(keyword);
+            return listProducts(param, pageable);
+        }
+
+        List<String> productIds = productSearchIndex.search(portalId, keyword, MAX_SEARCH_RESULTS);
+        int from = (int) Math.min(pageable.getOffset(), productIds.size());
+        int to = Math.min(from + pageable.getPageSize(), productIds.size());
+        List<String> pageIds = productIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return PageResult.of(new ArrayList<>(), pageable.getPageNumber() + 1, pageable.getPageSize(), productIds.size());
+        }
+
+        // 按相关度顺序返回
+        Specification<Product> spec = (root, query, cb) -> root.get("productId").in(pageIds);
+        Map<String, Product> products = productRepository.findSummaries(spec, Pageable.unpaged()).getContent().stream()
+                .collect(Collectors.toMap(Product::getProductId, product -> product));
+        List<ProductResult> results = pageIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(product -> new ProductResult().convertFrom(product))
+                .collect(Collectors.toList());
+        fullFillProducts(results);
+        return PageResult.of(results, pageable.getPageNumber() + 1, pageable.getPageSize(), productIds.size());
     }
 
     @Override
@@ -156,6 +245,7 @@ public class ProductServiceImpl implements ProductService {
         Optional.ofNullable(param.getAutoApprove()).ifPresent(product::setAutoApprove);
 
         productRepository.saveAndFlush(product);
+        refreshCatalog(productId);
         return getProduct(product.getProductId());
     }
 
@@ -180,6 +270,7 @@ public class ProductServiceImpl implements ProductService {
 
         publicationRepository.save(productPublication);
         productRepository.save(product);
+        refreshCatalog(productId);
     }
 
     @Override
@@ -210,6 +301,7 @@ public class ProductServiceImpl implements ProductService {
 
         publicationRepository.findByPortalIdAndProductId(portalId, productId)
                 .ifPresent(publicationRepository::delete);
+        refreshCatalog(productId);
     }
 
     @Override
@@ -219,6 +311,7 @@ public class ProductServiceImpl implements ProductService {
         // 下线后删除
         publicationRepository.deleteByProductId(productId);
         productRepository.delete(Product);
+        refreshCatalog(productId);
 
         // 异步清理Product资源
         eventPublisher.publishEvent(new ProductDeletingEvent(productId));
@@ -247,6 +340,7 @@ public class ProductServiceImpl implements ProductService {
 
         productRepository.save(product);
         productRefRepository.save(productRef);
+        refreshCatalog(productId);
     }
 
     @Override
@@ -271,51 +365,167 @@ public class ProductServiceImpl implements ProductService {
 
         productRefRepository.delete(productRef);
         productRepository.save(product);
+        refreshCatalog(productId);
     }
 
     private void syncConfig(Product product, ProductRef productRef) {
+        applyConfig(product.getType(), productRef, fetchConfig(product.getType(), productRef));
+        product.setStatus(ProductStatus.READY);
+        productRef.setEnabled(true);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public boolean resyncProductRef(String productId) {
+        ProductType type = productRepository.findTypeByProductId(productId).orElse(null);
+        Specification<ProductRef> spec = (root, query, cb) -> cb.equal(root.get("productId"), productId);
+        List<ProductRef> productRefs = productRefRepository.findSummaries(spec, PageRequest.of(0, 1, Sort.by("id")))
+                .getContent();
+        if (type == null || productRefs.isEmpty()) {
+            return false;
+        }
+
+        // 拉取上游配置期间不占用数据库事务
+        ProductRef summary = productRefs.get(0);
+        String config = fetchConfig(type, summary);
+        if (config == null) {
+            throw new BusinessException(ErrorCode.GATEWAY_ERROR, StrUtil.format("{}未返回API/MCP配置", productId));
+        }
+        String configHash = DigestUtil.sha256Hex(config);
+        if (configHash.equals(summary.getConfigHash())) {
+            return false;
+        }
+
+        ProductRef productRef = productRefRepository.findById(summary.getId()).orElse(null);
+        if (productRef == null) {
+            return false;
+        }
+        // 历史数据没有摘要，内容一致时只补充摘要
+        boolean changed = !config.equals(isApiConfig(type, productRef) ? productRef.getApiConfig() : productRef.getMcpConfig());
+        applyConfig(type, productRef, config);
+        productRefRepository.save(productRef);
+        if (changed) {
+            refreshCatalog(productId);
+        }
+        return changed;
+    }
+
+    /**
+     * 从网关或Nacos拉取API/MCP配置
+     */
+    private String fetchConfig(ProductType type, ProductRef productRef) {
         SourceType sourceType = productRef.getSourceType();
 
         if (sourceType.isGateway()) {
             GatewayResult gateway = gatewayService.getGateway(productRef.getGatewayId());
             Object config = gateway.getGatewayType().isHigress() ? productRef.getHigressRefConfig() : gateway.getGatewayType().isAdpAIGateway() ? productRef.getAdpAIGatewayRefConfig() : productRef.getApigRefConfig();
-            if (product.getType() == ProductType.REST_API) {
-                String apiConfig = gatewayService.fetchAPIConfig(gateway.getGatewayId(), config);
-                productRef.setApiConfig(apiConfig);
-            } else {
-                String mcpConfig = gatewayService.fetchMcpConfig(gateway.getGatewayId(), config);
-                productRef.setMcpConfig(mcpConfig);
-            }
+            return type == ProductType.REST_API ?
+                    gatewayService.fetchAPIConfig(gateway.getGatewayId(), config) :
+                    gatewayService.fetchMcpConfig(gateway.getGatewayId(), config);
         } else if (sourceType.isNacos()) {
             // 从Nacos获取MCP Server配置
             NacosRefConfig nacosRefConfig = productRef.getNacosRefConfig();
             if (nacosRefConfig != null) {
-                String mcpConfig = nacosService.fetchMcpConfig(productRef.getNacosId(), nacosRefConfig);
-                productRef.setMcpConfig(mcpConfig);
+                return nacosService.fetchMcpConfig(productRef.getNacosId(), nacosRefConfig);
             }
         }
-        product.setStatus(ProductStatus.READY);
-        productRef.setEnabled(true);
+        return null;
     }
 
-    private void fullFillProduct(ProductResult product) {
-        productRefRepository.findFirstByProductId(product.getProductId())
-                .ifPresent(productRef -> {
-                    product.setEnabled(productRef.getEnabled());
-                    if (StrUtil.isNotBlank(productRef.getApiConfig())) {
-                        product.setApiConfig(JSONUtil.toBean(productRef.getApiConfig(), APIConfigResult.class));
-                    }
+    private void applyConfig(ProductType type, ProductRef productRef, String config) {
+        if (isApiConfig(type, productRef)) {
+            productRef.setApiConfig(config);
+        } else {
+            productRef.setMcpConfig(config);
+        }
+        productRef.setConfigHash(config == null ? null : DigestUtil.sha256Hex(config));
+    }
 
-                    // API Config
-                    if (StrUtil.isNotBlank(productRef.getMcpConfig())) {
-                        product.setMcpConfig(JSONUtil.toBean(productRef.getMcpConfig(), MCPConfigResult.class));
-                    }
-                    product.setStatus(ProductStatus.READY);
-                });
+    private boolean isApiConfig(ProductType type, ProductRef productRef) {
+        return productRef.getSourceType().isGateway() && type == ProductType.REST_API;
+    }
+
+    /**
+     * 批量补充Product信息，关联与发布状态各一次查询
+     * <p>
+     * spec、tools在数据库侧已去除，需要时通过单独的接口下载
+     */
+    private void fullFillProducts(List<ProductResult> products) {
+        if (CollUtil.isEmpty(products)) {
+            return;
+        }
+        Set<String> productIds = products.stream()
+                .map(ProductResult::getProductId)
+                .collect(Collectors.toSet());
+
+        Map<String, ProductRefSummary> productRefs = new HashMap<>(productIds.size());
+        for (ProductRefSummary productRef : productRefRepository.findSummariesByProductIdIn(productIds)) {
+            // 与findFirstByProductId保持一致，取最早的关联
+            productRefs.merge(productRef.getProductId(), productRef,
+                    (a, b) -> a.getId() <= b.getId() ? a : b);
+        }
+        Set<String> publishedIds = new HashSet<>(publicationRepository.findPublishedProductIds(productIds));
+
+        for (ProductResult product : products) {
+            ProductRefSummary productRef = productRefs.get(product.getProductId());
+            if (productRef != null) {
+                product.setEnabled(productRef.getEnabled());
+                if (StrUtil.isNotBlank(productRef.getApiConfig())) {
+                    product.setApiConfig(JSONUtil.toBean(productRef.getApiConfig(), APIConfigResult.class));
+                }
+                if (StrUtil.isNotBlank(productRef.getMcpConfig())) {
+                    product.setMcpConfig(JSONUtil.toBean(productRef.getMcpConfig(), MCPConfigResult.class));
+                }
+                product.setStatus(ProductStatus.READY);
+            }
+            if (publishedIds.contains(product.getProductId())) {
+                product.setStatus(ProductStatus.PUBLISHED);
+            }
+        }
+    }
+
+    /**
+     * 加载门户的全部已发布产品
+     */
+    private List<CatalogItem> loadCatalog(String portalId) {
+        List<String> productIds = publicationRepository.findProductIdsByPortalId(portalId);
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Specification<Product> spec = (root, query, cb) -> root.get("productId").in(productIds);
+        return toCatalogItems(productRepository.findSummaries(spec, Pageable.unpaged()).getContent(),
+                Collections.singleton(portalId));
+    }
 
-        if (publicationRepository.existsByProductId(product.getProductId())) {
-            product.setStatus(ProductStatus.PUBLISHED);
+    /**
+     * 加载单个产品的目录条目，产品已删除时返回null
+     */
+    private CatalogItem loadCatalogItem(String productId) {
+        Specification<Product> spec = (root, query, cb) -> cb.equal(root.get("productId"), productId);
+        List<Product> products = productRepository.findSummaries(spec, Pageable.unpaged()).getContent();
+        if (products.isEmpty()) {
+            return null;
         }
+        Set<String> portalIds = new HashSet<>(publicationRepository.findPortalIdsByProductId(productId));
+        return toCatalogItems(products, portalIds).get(0);
+    }
+
+    private List<CatalogItem> toCatalogItems(List<Product> products, Set<String> portalIds) {
+        List<ProductResult> results = products.stream()
+                .map(product -> new ProductResult().convertFrom(product))
+                .collect(Collectors.toList());
+        fullFillProducts(results);
+
+        List<CatalogItem> items = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            items.add(new CatalogItem(results.get(i), products.get(i).getStatus(), portalIds));
+        }
+        return items;
+    }
+
+    private void refreshCatalog(String productId) {
+        portalCatalog.refreshProduct(productId, () -> loadCatalogItem(productId));
+        productSearchIndex.update(productId);
     }
 
     private Product findPublishedProduct(String portalId, String productId) {
@@ -326,6 +536,8 @@ public class ProductServiceImpl implements ProductService {
     }
 
     private Specification<Product> buildSpecification(QueryProductParam param) {
+        // 名称过滤优先走索引，命中集合即完整结果，总数不受影响
+        Set<String> nameMatchedIds = productSearchIndex.findByName(param.getName(), MAX_NAME_FILTER_IDS);
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
@@ -349,7 +561,9 @@ public class ProductServiceImpl implements ProductService {
                 predicates.add(cb.equal(root.get("status"), param.getStatus()));
             }
 
-            if (StrUtil.isNotBlank(param.getName())) {
+            if (nameMatchedIds != null) {
+                predicates.add(nameMatchedIds.isEmpty() ? cb.disjunction() : root.get("productId").in(nameMatchedIds));
+            } else if (StrUtil.isNotBlank(param.getName())) {
                 String likePattern = "%" + param.getName() + "%";
                 predicates.add(cb.like(root.get("name"), likePattern));
             }
@@ -366,6 +580,7 @@ public class ProductServiceImpl implements ProductService {
         try {
             log.info("Starting to cleanup publications for portal {}", portalId);
             publicationRepository.deleteAllByPortalId(portalId);
+            portalCatalog.invalidate(portalId);
 
             log.info("Completed cleanup publications for portal {}", portalId);
         } catch (Exception e) {
@@ -375,11 +590,51 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public Map<String, ProductResult> getProducts(List<String> productIds) {
-        List<Product> products = productRepository.findByProductIdIn(productIds);
+        if (CollUtil.isEmpty(productIds)) {
+            return new HashMap<>();
+        }
+        Specification<Product> spec = (root, query, cb) -> root.get("productId").in(productIds);
+        List<Product> products = productRepository.findSummaries(spec, Pageable.unpaged()).getContent();
         return products.stream()
                 .collect(Collectors.toMap(Product::getProductId, product -> new ProductResult().convertFrom(product)));
     }
 
+    @Override
+    public long getCatalogVersion() {
+        return portalCatalog.get(contextHolder.getPortal(), this::loadCatalog).getVersion();
+    }
+
+    @Override
+    public String getProductETag(String productId) {
+        List<Object[]> versions = productRepository.findVersionsByProductId(productId);
+        if (versions.isEmpty()) {
+            return null;
+        }
+
+        boolean published;
+        if (contextHolder.isAdministrator()) {
+            published = publicationRepository.existsByProductId(productId);
+        } else {
+            // 未发布到当前门户时由详情接口返回404
+            published = publicationRepository.findByPortalIdAndProductId(contextHolder.getPortal(), productId).isPresent();
+            if (!published) {
+                return null;
+            }
+        }
+        Object[] version = versions.get(0);
+        return HttpCacheUtil.weakETag(productId, version[0], version[1], published);
+    }
+
+    @Override
+    public String getCatalogETag(QueryProductParam param, Pageable pageable) {
+        if (!contextHolder.isDeveloper()) {
+            return null;
+        }
+        String portalId = contextHolder.getPortal();
+        long version = portalCatalog.get(portalId, this::loadCatalog).getVersion();
+        return HttpCacheUtil.weakETag(portalId, version, param, pageable);
+    }
+
     @Override
     public String getProductDashboard(String productId) {
         // 获取产品关联的网关信息
@@ -405,7 +660,7 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public PageResult<SubscriptionResult> listProductSubscriptions(String productId, QueryProductSubscriptionParam param, Pageable pageable) {
         existsProduct(productId);
-        Page<ProductSubscription> subscriptions = subscriptionRepository.findAll(buildProductSubscriptionSpec(productId, param), pageable);
+        Page<ProductSubscription> subscriptions = subscriptionRepository.findSummaries(buildProductSubscriptionSpec(productId, param), pageable);
 
         List<String> consumerIds = subscriptions.getContent().stream()
                 .map(ProductSubscription::getConsumerId)
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.service.nacos;
+
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.alibaba.apiopenplatform.core.exception.BusinessException;
+import com.alibaba.apiopenplatform.core.exception.ErrorCode;
+import com.alibaba.apiopenplatform.entity.NacosInstance;
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.common.lifecycle.Closeable;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerFactory;
+import com.alibaba.nacos.maintainer.client.ai.McpMaintainerService;
+import com.alibaba.nacos.maintainer.client.naming.NamingMaintainerFactory;
+import com.alibaba.nacos.maintainer.client.naming.NamingMaintainerService;
+import com.aliyun.mse20190531.Client;
+import com.aliyun.teaopenapi.models.Config;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Nacos/MSE客户端注册表
+ * <p>
+ * 按Nacos实例（nacosId + 凭证指纹）复用Maintainer客户端，MSE客户端按AK/SK与地域复用。
+ * 凭证变化、实例更新或删除、空闲超时时移除客户端。客户端可能仍有同步任务的调用进行中，移除后延迟一段时间再关闭。
+ * AI Maintainer客户端本身不可关闭，关闭其内部持有定时线程池的ClientHttpProxy；
+ * MSE客户端不持有线程，空闲超时直接丢弃，不在内存中保留AK/SK；
+ * 找不到可关闭资源的Nacos客户端不做空闲淘汰，只在实例更新或删除时移除，避免反复创建泄漏线程。
+ */
+@Component
+@Slf4j
+public class NacosClientRegistry {
+
+    private static final String DEFAULT_CONTEXT_PATH = "nacos";
+
+    private static final String MCP_PREFIX = "mcp:";
+
+    private static final String NAMING_PREFIX = "naming:";
+
+    private static final String MSE_PREFIX = "mse:";
+
+    /**
+     * NacosAiMaintainerServiceImpl内部的HTTP代理字段
+     */
+    private static final String HTTP_PROXY_FIELD = "clientHttpProxy";
+
+    private final Map<String, Entry> clients = new ConcurrentHashMap<>();
+
+    @Value("${nacos.client.idle-timeout:600000}")
+    private long idleTimeoutMillis;
+
+    /**
+     * 移除后延迟关闭的时间，需大于单次调用的超时时间
+     */
+    @Value("${nacos.client.close-delay:60000}")
+    private long closeDelayMillis;
+
+    private final ScheduledExecutorService closer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "NacosClientCloser");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder creations = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public McpMaintainerService getMcpService(NacosInstance nacosInstance) {
+        return get(MCP_PREFIX + nacosInstance.getNacosId(), fingerprint(nacosInstance), true, () -> {
+            try {
+                return AiMaintainerFactory.createAiMaintainerService(buildProperties(nacosInstance, null));
+            } catch (Exception e) {
+                log.error("Error init Nacos AiMaintainerService", e);
+                throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error init Nacos AiMaintainerService");
+            }
+        });
+    }
+
+    public NamingMaintainerService getNamingService(NacosInstance nacosInstance, String namespace) {
+        String ns = StrUtil.nullToEmpty(namespace);
+        return get(NAMING_PREFIX + nacosInstance.getNacosId() + ":" + ns, fingerprint(nacosInstance), true, () -> {
+            try {
+                return NamingMaintainerFactory.createNamingMaintainerService(buildProperties(nacosInstance, ns));
+            } catch (Exception e) {
+                log.error("Error init Nacos NamingMaintainerService", e);
+                throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error init Nacos NamingMaintainerService");
+            }
+        });
+    }
+
+    public Client getMseClient(Config config) {
+        String fingerprint = DigestUtil.md5Hex(StrUtil.join("|", config.getAccessKeyId(),
+                config.getAccessKeySecret(), config.getRegionId(), config.getEndpoint()));
+        return get(MSE_PREFIX + fingerprint, fingerprint, false, () -> {
+            try {
+                return new Client(config);
+            } catch (Exception e) {
+                log.error("Error init MSE client", e);
+                throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Error init MSE client: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 移除Nacos实例的全部客户端，延迟关闭
+     */
+    public void evict(String nacosId) {
+        String namingPrefix = NAMING_PREFIX + nacosId + ":";
+        clients.entrySet().removeIf(e -> {
+            String key = e.getKey();
+            if (key.equals(MCP_PREFIX + nacosId) || key.startsWith(namingPrefix)) {
+                closeLater(key, e.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${nacos.client.evict-interval:60000}")
+    public void evictIdle() {
+        long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<Map.Entry<String, Entry>> it = clients.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            Entry entry = e.getValue();
+            if (entry.holdsThreads && entry.closeable == null) {
+                continue;
+            }
+            if (entry.lastAccess < deadline && clients.remove(e.getKey(), entry)) {
+                closeLater(e.getKey(), entry);
+            }
+        }
+    }
+
+    public int getSize() {
+        return clients.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getCreations() {
+        return creations.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 等待关闭的客户端立即关闭
+        closer.shutdownNow().forEach(Runnable::run);
+        clients.forEach(this::close);
+        clients.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, String fingerprint, boolean holdsThreads, Supplier<T> factory) {
+        Entry entry = clients.get(key);
+        if (entry != null && entry.fingerprint.equals(fingerprint)) {
+            hits.increment();
+            entry.lastAccess = System.currentTimeMillis();
+            return (T) entry.client;
+        }
+
+        entry = clients.compute(key, (k, existing) -> {
+            if (existing != null && existing.fingerprint.equals(fingerprint)) {
+                return existing;
+            }
+            // 凭证变化，替换旧客户端
+            if (existing != null) {
+                closeLater(k, existing);
+            }
+            creations.increment();
+            return new Entry(fingerprint, factory.get(), holdsThreads);
+        });
+        entry.lastAccess = System.currentTimeMillis();
+        return (T) entry.client;
+    }
+
+    private void closeLater(String key, Entry entry) {
+        evictions.increment();
+        if (entry.closeable == null) {
+            if (entry.holdsThreads) {
+                log.warn("Nacos client {} can not be closed", key);
+            }
+            return;
+        }
+        scheduleClose(key, entry);
+    }
+
+    /**
+     * 移除前刚被取出的客户端可能仍有调用进行中，最近一次访问后满一个延迟周期才关闭
+     */
+    private void scheduleClose(String key, Entry entry) {
+        try {
+            closer.schedule(() -> {
+                if (System.currentTimeMillis() - entry.lastAccess < closeDelayMillis) {
+                    scheduleClose(key, entry);
+                } else {
+                    close(key, entry);
+                }
+            }, closeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 应用关闭中
+            close(key, entry);
+        }
+    }
+
+    private void close(String key, Entry entry) {
+        if (entry.closeable == null) {
+            return;
+        }
+        try {
+            entry.closeable.shutdown();
+        } catch (Exception e) {
+            log.warn("Failed to close Nacos client {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 客户端持有的可关闭资源，找不到时返回null
+     */
+    private static Closeable closeableOf(Object client) {
+        if (client instanceof Closeable) {
+            return (Closeable) client;
+        }
+        try {
+            Object proxy = ReflectUtil.getFieldValue(client, HTTP_PROXY_FIELD);
+            return proxy instanceof Closeable ? (Closeable) proxy : null;
+        } catch (Exception e) {
+            log.debug("No closeable http proxy in {}: {}", client.getClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String fingerprint(NacosInstance nacosInstance) {
+        return DigestUtil.md5Hex(StrUtil.join("|", nacosInstance.getServerUrl(),
+                nacosInstance.getUsername(), nacosInstance.getPassword(),
+                nacosInstance.getAccessKey(), nacosInstance.getSecretKey()));
+    }
+
+    private static Properties buildProperties(NacosInstance nacosInstance, String namespace) {
+        Properties properties = new Properties();
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, nacosInstance.getServerUrl());
+        if (Objects.nonNull(nacosInstance.getUsername())) {
+            properties.setProperty(PropertyKeyConst.USERNAME, nacosInstance.getUsername());
+        }
+
+        if (Objects.nonNull(nacosInstance.getPassword())) {
+            properties.setProperty(PropertyKeyConst.PASSWORD, nacosInstance.getPassword());
+        }
+        properties.setProperty(PropertyKeyConst.CONTEXT_PATH, DEFAULT_CONTEXT_PATH);
+        // MCP客户端不指定命名空间，由请求参数决定
+        if (namespace != null) {
+            properties.setProperty(PropertyKeyConst.NAMESPACE, namespace);
+        }
+
+        if (Objects.nonNull(nacosInstance.getAccessKey())) {
+            properties.setProperty(PropertyKeyConst.ACCESS_KEY, nacosInstance.getAccessKey());
+        }
+
+        if (Objects.nonNull(nacosInstance.getSecretKey())) {
+            properties.setProperty(PropertyKeyConst.SECRET_KEY, nacosInstance.getSecretKey());
+        }
+        return properties;
+    }
+
+    private static class Entry {
+
+        private final String fingerprint;
+
+        private final Object client;
+
+        private final Closeable closeable;
+
+        /**
+         * 是否持有线程，持有线程却找不到可关闭资源时不做空闲淘汰
+         */
+        private final boolean holdsThreads;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(String fingerprint, Object client, boolean holdsThreads) {
+            this.fingerprint = fingerprint;
+            this.client = client;
+            this.closeable = closeableOf(client);
+            this.holdsThreads = holdsThreads;
+        }
+    }
+}
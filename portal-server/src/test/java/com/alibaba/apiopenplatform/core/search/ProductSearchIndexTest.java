@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.search;
+
+import com.alibaba.apiopenplatform.repository.ProductPublicationRepository;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository;
+import com.alibaba.apiopenplatform.repository.ProductRepository;
+import com.alibaba.apiopenplatform.repository.ProductRepository.ProductSearchFields;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductRefRepository productRefRepository = mock(ProductRefRepository.class);
+        ProductPublicationRepository publicationRepository = mock(ProductPublicationRepository.class);
+
+        List<ProductSearchFields> products = new ArrayList<>();
+        products.add(product(1L, "product-1", "Alipay Gateway", "payment api", null));
+        products.add(product(2L, "product-2", "天气查询", "按城市查询天气", "支持逐小时预报"));
+        products.add(product(3L, "product-3", "Map Service", "pay per call", null));
+        when(productRepository.findSearchFieldsAfter(anyLong(), any())).thenReturn(products);
+        when(productRefRepository.findToolsByProductIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(publicationRepository.findAll()).thenReturn(Collections.emptyList());
+
+        searchIndex = new ProductSearchIndex(productRepository, productRefRepository, publicationRepository);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void nameFilterMatchesSubstringOfNameOnly() {
+        // 与LIKE '%pay%'一致：命中名称中间的子串，不命中描述
+        assertThat(searchIndex.findByName("pay", 10)).containsExactly("product-1");
+        assertThat(searchIndex.findByName("IPAY G", 10)).containsExactly("product-1");
+        assertThat(searchIndex.findByName("气查", 10)).containsExactly("product-2");
+        assertThat(searchIndex.findByName("e", 10)).containsExactlyInAnyOrder("product-1", "product-3");
+        assertThat(searchIndex.findByName("payment", 10)).isEmpty();
+    }
+
+    @Test
+    void nameFilterFallsBackWhenNotAnswerable() {
+        assertThat(searchIndex.findByName("a", 1)).isNull();
+        assertThat(searchIndex.findByName("pay%", 10)).isNull();
+        assertThat(searchIndex.findByName("a_b", 10)).isNull();
+        assertThat(searchIndex.findByName(null, 10)).isNull();
+    }
+
+    @Test
+    void searchCoversDocument() {
+        assertThat(searchIndex.search(null, "预报", 10)).containsExactly("product-2");
+    }
+
+    private static ProductSearchFields product(Long id, String productId, String name, String description,
+                                               String document) {
+        ProductSearchFields product = mock(ProductSearchFields.class);
+        when(product.getId()).thenReturn(id);
+        when(product.getProductId()).thenReturn(productId);
+        when(product.getName()).thenReturn(name);
+        when(product.getDescription()).thenReturn(description);
+        when(product.getDocument()).thenReturn(document);
+        return product;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.security;
+
+import com.alibaba.apiopenplatform.core.sync.ClusterLease;
+import com.alibaba.apiopenplatform.entity.RevokedToken;
+import com.alibaba.apiopenplatform.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationRegistryTest {
+
+    private RevokedTokenRepository repository;
+
+    private ClusterLease clusterLease;
+
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        clusterLease = mock(ClusterLease.class);
+        when(repository.findAllByExpireAtAfter(any())).thenReturn(Collections.emptyList());
+        when(repository.findTop500ByCreateAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(any(), anyLong()))
+                .thenReturn(Collections.emptyList());
+        registry = new TokenRevocationRegistry(repository, clusterLease);
+        registry.init();
+    }
+
+    @Test
+    void lateCommittedRevocationIsPickedUpByNextPoll() {
+        RevokedToken later = token(2L, "token-2");
+        when(repository.findTop500ByCreateAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(any(), eq(0L)))
+                .thenReturn(Collections.singletonList(later));
+        registry.poll();
+        assertThat(registry.isRevoked("token-2")).isTrue();
+
+        // ID较小的撤销晚于ID较大的撤销提交
+        RevokedToken earlier = token(1L, "token-1");
+        when(repository.findTop500ByCreateAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(any(), eq(0L)))
+                .thenReturn(Arrays.asList(earlier, later));
+        registry.poll();
+
+        assertThat(registry.isRevoked("token-1")).isTrue();
+        assertThat(registry.isRevoked("token-2")).isTrue();
+    }
+
+    @Test
+    void purgeRunsOnlyOnLeaseHolder() {
+        when(clusterLease.tryAcquire(anyString(), anyLong())).thenReturn(false);
+        registry.purgeExpired();
+        verify(repository, never()).deleteExpired(any());
+
+        when(clusterLease.tryAcquire(anyString(), anyLong())).thenReturn(true);
+        registry.purgeExpired();
+        verify(repository).deleteExpired(any(LocalDateTime.class));
+    }
+
+    @Test
+    void purgeFailureDoesNotAffectRebuild() {
+        when(clusterLease.tryAcquire(anyString(), anyLong())).thenReturn(true);
+        doThrow(new IllegalStateException("stale state")).when(repository).deleteExpired(any());
+        when(repository.findAllByExpireAtAfter(any())).thenReturn(Collections.singletonList(token(3L, "token-3")));
+
+        registry.purgeExpired();
+        registry.rebuild();
+
+        // 布隆命中后由数据库确认
+        when(repository.findByTokenIdAndExpireAtAfter(eq("token-3"), any()))
+                .thenReturn(Optional.of(token(3L, "token-3")));
+        assertThat(registry.isRevoked("token-3")).isTrue();
+    }
+
+    private static RevokedToken token(Long id, String tokenId) {
+        RevokedToken token = new RevokedToken();
+        token.setId(id);
+        token.setTokenId(tokenId);
+        token.setCreateAt(LocalDateTime.now());
+        token.setExpireAt(LocalDateTime.now().plusHours(1));
+        return token;
+    }
+}
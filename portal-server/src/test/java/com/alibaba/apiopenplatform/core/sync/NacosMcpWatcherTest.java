@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.apiopenplatform.core.sync;
+
+import com.alibaba.apiopenplatform.repository.ProductRefRepository;
+import com.alibaba.apiopenplatform.repository.ProductRefRepository.NacosRefKey;
+import com.alibaba.apiopenplatform.service.NacosService;
+import com.alibaba.apiopenplatform.service.ProductService;
+import com.alibaba.apiopenplatform.support.enums.SourceType;
+import com.alibaba.apiopenplatform.support.product.NacosRefConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NacosMcpWatcherTest {
+
+    private NacosService nacosService;
+
+    private ProductService productService;
+
+    private ClusterLease clusterLease;
+
+    private NacosMcpWatcher watcher;
+
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        nacosService = mock(NacosService.class);
+        productService = mock(ProductService.class);
+        clusterLease = mock(ClusterLease.class);
+        ProductRefRepository productRefRepository = mock(ProductRefRepository.class);
+
+        // 两个产品引用同一MCP Server，另一个产品引用其他MCP Server
+        NacosRefKey first = ref("product-1", "weather");
+        NacosRefKey second = ref("product-2", "weather");
+        NacosRefKey other = ref("product-3", "map");
+        when(productRefRepository.findNacosRefsBySourceType(SourceType.NACOS))
+                .thenReturn(Arrays.asList(first, second, other));
+        when(nacosService.fetchMcpServerFingerprints("nacos-1", "public")).thenReturn(fingerprints);
+        when(clusterLease.tryAcquire(anyString(), anyLong())).thenReturn(true);
+
+        watcher = new NacosMcpWatcher(nacosService, productService, productRefRepository, clusterLease, true, 30000);
+    }
+
+    @Test
+    void refreshesEveryProductOfChangedServer() {
+        fingerprints.put("weather", "v1");
+        fingerprints.put("map", "v1");
+        watcher.poll();
+        verify(productService, never()).resyncProductRef(anyString());
+
+        fingerprints.put("weather", "v2");
+        watcher.poll();
+
+        verify(productService).resyncProductRef("product-1");
+        verify(productService).resyncProductRef("product-2");
+        verify(productService, never()).resyncProductRef("product-3");
+        assertThat(watcher.getWatchedServers()).isEqualTo(3);
+    }
+
+    @Test
+    void failedRefreshIsRetriedOnlyForThatProduct() {
+        fingerprints.put("weather", "v1");
+        watcher.poll();
+
+        when(productService.resyncProductRef("product-2")).thenThrow(new IllegalStateException("timeout"));
+        fingerprints.put("weather", "v2");
+        watcher.poll();
+        watcher.poll();
+
+        verify(productService, times(1)).resyncProductRef("product-1");
+        verify(productService, times(2)).resyncProductRef("product-2");
+    }
+
+    @Test
+    void onlyLeaseHolderPolls() {
+        when(clusterLease.tryAcquire(anyString(), anyLong())).thenReturn(false);
+
+        watcher.poll();
+
+        verify(nacosService, never()).fetchMcpServerFingerprints(anyString(), anyString());
+        assertThat(watcher.getWatchedServers()).isZero();
+    }
+
+    @Test
+    void unchangedServerIsNotRefreshed() {
+        fingerprints.put("weather", "v1");
+        watcher.poll();
+        watcher.poll();
+
+        verify(productService, never()).resyncProductRef(anyString());
+        verify(nacosService, times(2)).fetchMcpServerFingerprints("nacos-1", "public");
+    }
+
+    private static NacosRefKey ref(String productId, String mcpServerName) {
+        NacosRefConfig config = new NacosRefConfig();
+        config.setMcpServerName(mcpServerName);
+        config.setNamespaceId("public");
+        NacosRefKey ref = mock(NacosRefKey.class);
+        when(ref.getProductId()).thenReturn(productId);
+        when(ref.getNacosId()).thenReturn("nacos-1");
+        when(ref.getNacosRefConfig()).thenReturn(config);
+        return ref;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.core.utils;
+
+import com.alibaba.apiopenplatform.support.common.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenUtilTest {
+
+    private Map<?, ?> verifiedTokens;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(TokenUtil.class, "JWT_SECRET", "test-secret");
+        ReflectionTestUtils.setField(TokenUtil.class, "JWT_EXPIRE_MILLIS", 3600000L);
+        verifiedTokens = (Map<?, ?>) ReflectionTestUtils.getField(TokenUtil.class, "VERIFIED_TOKENS");
+        verifiedTokens.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifiedTokens.clear();
+    }
+
+    @Test
+    void overflowEvictsLeastRecentlyUsedBatchOnly() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            String token = TokenUtil.generateDeveloperToken("user-" + i);
+            tokens.add(token);
+            TokenUtil.parseUser(token);
+        }
+        assertThat(verifiedTokens).hasSize(10000);
+
+        Thread.sleep(5);
+        TokenUtil.parseUser(tokens.get(0));
+        User user = TokenUtil.parseUser(TokenUtil.generateDeveloperToken("user-new"));
+
+        // 只淘汰一批最久未访问的Token，不整体清空
+        assertThat(user.getUserId()).isEqualTo("user-new");
+        assertThat(verifiedTokens).hasSize(9001);
+        assertThat(verifiedTokens.values()).anySatisfy(t ->
+                assertThat(ReflectionTestUtils.getField(t, "token")).isEqualTo(tokens.get(0)));
+    }
+}
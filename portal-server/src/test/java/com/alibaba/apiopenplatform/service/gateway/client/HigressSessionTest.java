@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.apiopenplatform.service.gateway.client;
+
+import com.alibaba.apiopenplatform.support.gateway.HigressConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HigressSessionTest {
+
+    private static final String LOGIN_URL = "http://higress.local/session/login";
+
+    private RestTemplate restTemplate;
+
+    private HigressSession session;
+
+    private final AtomicInteger logins = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        HigressConfig config = new HigressConfig();
+        config.setAddress("http://higress.local");
+        config.setUsername("admin");
+        config.setPassword("admin");
+        restTemplate = mock(RestTemplate.class);
+        session = new HigressSession(config, restTemplate, LOGIN_URL);
+    }
+
+    @Test
+    void invalidateDuringFailedRenewReturnsCurrentToken() throws Exception {
+        // 会话2秒，1秒后进入续登窗口
+        stubLogin(2);
+        String first = session.token();
+        Thread.sleep(1100);
+
+        // 续登失败的同时Token被其他请求判定失效
+        when(restTemplate.exchange(eq(LOGIN_URL), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    session.invalidate(first);
+                    throw new ResourceAccessException("connection reset");
+                });
+
+        assertThat(session.token()).isEqualTo(first);
+    }
+
+    @Test
+    void renewReturnsRenewedToken() throws Exception {
+        stubLogin(2);
+        String first = session.token();
+        Thread.sleep(1100);
+
+        String renewed = session.token();
+
+        assertThat(renewed).isNotEqualTo(first);
+        assertThat(session.token()).isEqualTo(renewed);
+    }
+
+    @Test
+    void concurrentInvalidateNeverYieldsNullToken() throws Exception {
+        stubLogin(1800);
+        int threads = 8;
+        int rounds = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < rounds; j++) {
+                    String token = session.token();
+                    assertThat(token).isNotNull();
+                    if (j % 3 == 0) {
+                        session.invalidate(token);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+
+        // 每次失效最多触发一次登录，并发请求不会各自登录
+        int invalidations = threads * ((rounds + 2) / 3);
+        assertThat(logins.get()).isLessThanOrEqualTo(invalidations + 1);
+    }
+
+    private void stubLogin(int maxAgeSeconds) {
+        when(restTemplate.exchange(eq(LOGIN_URL), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.add(HttpHeaders.SET_COOKIE,
+                            "_hi_sess=token-" + logins.incrementAndGet() + "; Max-Age=" + maxAgeSeconds + "; Path=/");
+                    return new ResponseEntity<>("{}", headers, HttpStatus.OK);
+                });
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.apiopenplatform.service.nacos;
+
+import com.aliyun.mse20190531.Client;
+import com.aliyun.teaopenapi.models.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NacosClientRegistryTest {
+
+    private NacosClientRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new NacosClientRegistry();
+        ReflectionTestUtils.setField(registry, "idleTimeoutMillis", 600000L);
+        ReflectionTestUtils.setField(registry, "closeDelayMillis", 60000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void mseClientIsReusedForSameCredentials() {
+        Client first = registry.getMseClient(config("ak", "sk"));
+        Client second = registry.getMseClient(config("ak", "sk"));
+        Client other = registry.getMseClient(config("ak", "sk-2"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(registry.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void idleMseClientIsDropped() throws Exception {
+        registry.getMseClient(config("ak", "sk"));
+        ReflectionTestUtils.setField(registry, "idleTimeoutMillis", 0L);
+        Thread.sleep(5);
+
+        registry.evictIdle();
+
+        // MSE客户端不持有线程，空闲后直接移除，不再保留凭证
+        assertThat(registry.getSize()).isZero();
+        assertThat(registry.getEvictions()).isEqualTo(1);
+    }
+
+    private static Config config(String accessKey, String secretKey) {
+        return new Config()
+                .setAccessKeyId(accessKey)
+                .setAccessKeySecret(secretKey)
+                .setRegionId("cn-hangzhou")
+                .setEndpoint("mse.cn-hangzhou.aliyuncs.com");
+    }
+}
@@ -140,9 +140,18 @@ export const apiProductApi = {
   getApiProducts: (params?: any) => {
     return api.get(`/products`, { params })
   },
-  // 获取API产品详情
-  getApiProductDetail: (productId: string) => {
-    return api.get(`/products/${productId}`)
+  // 获取API产品详情，API定义与MCP工具通过单独的下载接口补充
+  getApiProductDetail: async (productId: string) => {
+    const res: any = await api.get(`/products/${productId}`)
+    const product = res?.data
+    const loadText = (url: string) => api.get(url, { responseType: 'text' }) as Promise<any>
+    if (product?.apiConfig?.specUrl && !product.apiConfig.spec) {
+      product.apiConfig.spec = (await loadText(product.apiConfig.specUrl)) || undefined
+    }
+    if (product?.mcpConfig?.toolsUrl && !product.mcpConfig.tools) {
+      product.mcpConfig.tools = (await loadText(product.mcpConfig.toolsUrl)) || undefined
+    }
+    return res
   },
   // 创建API产品
   createApiProduct: (data: any) => {
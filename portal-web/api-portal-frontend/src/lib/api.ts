@@ -117,6 +117,20 @@ export function unsubscribeProduct(consumerId: string, productId: string) {
   return api.delete(`/consumers/${consumerId}/subscriptions/${productId}`);
 }
 
+// 查询产品详情，API定义与MCP工具通过单独的下载接口补充
+export async function getProductDetail(productId: string) {
+  const response: any = await api.get(`/products/${productId}`);
+  const product = response?.data;
+  const loadText = (url: string) => api.get(url, { responseType: 'text' }) as Promise<any>;
+  if (product?.apiConfig?.specUrl && !product.apiConfig.spec) {
+    product.apiConfig.spec = (await loadText(product.apiConfig.specUrl)) || undefined;
+  }
+  if (product?.mcpConfig?.toolsUrl && !product.mcpConfig.tools) {
+    product.mcpConfig.tools = (await loadText(product.mcpConfig.toolsUrl)) || undefined;
+  }
+  return response;
+}
+
 // 查询产品的订阅详情（使用新的后端接口）
 export async function getProductSubscriptions(productId: string, params?: {
   status?: string;
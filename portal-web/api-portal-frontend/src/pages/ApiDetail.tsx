@@ -4,7 +4,7 @@ import { Card, Alert, Row, Col, Tabs } from "antd";
 import { Layout } from "../components/Layout";
 import { ProductHeader } from "../components/ProductHeader";
 import { SwaggerUIWrapper } from "../components/SwaggerUIWrapper";
-import api from "../lib/api";
+import { getProductDetail } from "../lib/api";
 import type { Product, ApiResponse } from "../types";
 import ReactMarkdown from "react-markdown";
 import remarkGfm from 'remark-gfm';
@@ -45,7 +45,7 @@ function ApiDetailPage() {
     setLoading(true);
     setError('');
     try {
-      const response: ApiResponse<UpdatedProduct> = await api.get(`/products/${id}`);
+      const response: ApiResponse<UpdatedProduct> = await getProductDetail(id!);
       if (response.code === "SUCCESS" && response.data) {
         setApiData(response.data);
         
@@ -1,6 +1,6 @@
 import { useEffect, useState, useCallback } from "react";
 import { useParams } from "react-router-dom";
-import api from "../lib/api";
+import { getProductDetail } from "../lib/api";
 import { Layout } from "../components/Layout";
 import { ProductHeader } from "../components/ProductHeader";
 import {
@@ -186,7 +186,7 @@ function McpDetail() {
       setLoading(true);
       setError("");
       try {
-        const response: ApiResponse<Product> = await api.get(`/products/${mcpName}`);
+        const response: ApiResponse<Product> = await getProductDetail(mcpName);
         if (response.code === "SUCCESS" && response.data) {
           setData(response.data);
 